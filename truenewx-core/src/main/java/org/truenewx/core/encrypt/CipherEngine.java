@@ -0,0 +1,160 @@
+package org.truenewx.core.encrypt;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+
+import org.apache.commons.io.IOUtils;
+import org.truenewx.core.util.ConcurrentCache;
+
+/**
+ * 加解密引擎<br>
+ * 序列化的密钥按内容摘要缓存解析结果，每个线程按转换方式复用{@link Cipher}实例；支持以流的方式加解密大数据
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class CipherEngine {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 序列化密钥的MD5摘要-密钥的映射集
+     */
+    private static final ConcurrentCache<String, Key> KEYS = new ConcurrentCache<>(256);
+
+    private static final ThreadLocal<Map<String, Cipher>> CIPHERS = new ThreadLocal<Map<String, Cipher>>() {
+        @Override
+        protected Map<String, Cipher> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private CipherEngine() {
+    }
+
+    /**
+     * 从指定输入流中读取以Java序列化方式保存的密钥，相同内容的密钥只解析一次。不关闭输入流
+     *
+     * @param in
+     *            输入流
+     * @return 密钥
+     * @throws IOException
+     *             如果读取出现错误或内容不是密钥
+     */
+    public static Key getKey(final InputStream in) throws IOException {
+        return getKey(IOUtils.toByteArray(in));
+    }
+
+    /**
+     * 解析以Java序列化方式保存的密钥，相同内容的密钥只解析一次
+     *
+     * @param serializedKey
+     *            序列化的密钥数据
+     * @return 密钥
+     * @throws IOException
+     *             如果内容不是密钥
+     */
+    public static Key getKey(final byte[] serializedKey) throws IOException {
+        final String digest = DigestEngine.md5Hex(serializedKey);
+        Key key = KEYS.get(digest);
+        if (key == null) {
+            try (ObjectInputStream ois = new ObjectInputStream(
+                    new ByteArrayInputStream(serializedKey))) {
+                key = (Key) ois.readObject();
+            } catch (final ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Invalid serialized key", e);
+            }
+            KEYS.put(digest, key);
+        }
+        return key;
+    }
+
+    /**
+     * 获取当前线程中指定转换方式的加解密实例，并以指定模式和密钥初始化
+     *
+     * @param transformation
+     *            转换方式，如：RSA、AES/CBC/PKCS5Padding
+     * @param mode
+     *            模式，{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @param key
+     *            密钥
+     * @return 已初始化的加解密实例
+     * @throws GeneralSecurityException
+     *             如果不支持指定转换方式或密钥无效
+     */
+    public static Cipher getCipher(final String transformation, final int mode, final Key key)
+            throws GeneralSecurityException {
+        final Map<String, Cipher> ciphers = CIPHERS.get();
+        Cipher cipher = ciphers.get(transformation);
+        if (cipher == null) {
+            cipher = Cipher.getInstance(transformation);
+            ciphers.put(transformation, cipher);
+        }
+        cipher.init(mode, key); // 重新初始化即重置了此前的状态
+        return cipher;
+    }
+
+    /**
+     * 加密或解密指定数据
+     *
+     * @param transformation
+     *            转换方式
+     * @param mode
+     *            模式，{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @param key
+     *            密钥
+     * @param data
+     *            数据
+     * @return 结果数据
+     * @throws GeneralSecurityException
+     *             如果加解密出现错误
+     */
+    public static byte[] process(final String transformation, final int mode, final Key key,
+            final byte[] data) throws GeneralSecurityException {
+        return getCipher(transformation, mode, key).doFinal(data);
+    }
+
+    /**
+     * 以流的方式加密或解密指定输入流中的数据，输出到指定输出流中，不关闭输入流和输出流。<br>
+     * 注意：RSA等非对称算法一次可处理的数据长度受密钥长度限制，大数据应使用对称算法
+     *
+     * @param transformation
+     *            转换方式
+     * @param mode
+     *            模式，{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @param key
+     *            密钥
+     * @param in
+     *            输入流
+     * @param out
+     *            输出流
+     * @throws IOException
+     *             如果读写出现错误
+     * @throws GeneralSecurityException
+     *             如果加解密出现错误
+     */
+    public static void process(final String transformation, final int mode, final Key key,
+            final InputStream in, final OutputStream out)
+            throws IOException, GeneralSecurityException {
+        final Cipher cipher = getCipher(transformation, mode, key);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            final byte[] result = cipher.update(buffer, 0, n);
+            if (result != null) {
+                out.write(result);
+            }
+        }
+        out.write(cipher.doFinal());
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.truenewx.core.encrypt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 摘要引擎<br>
+ * 每个线程按算法复用{@link MessageDigest}实例，避免每次计算摘要时查找算法提供者和创建实例；支持以流的方式计算大数据的摘要
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class DigestEngine {
+
+    public static final String MD5 = "MD5";
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<Map<String, MessageDigest>> DIGESTS = new ThreadLocal<Map<String, MessageDigest>>() {
+        @Override
+        protected Map<String, MessageDigest> initialValue() {
+            return new HashMap<>();
+        }
+    };
+
+    private DigestEngine() {
+    }
+
+    /**
+     * 获取当前线程中指定算法的摘要实例，获取的实例已重置
+     *
+     * @param algorithm
+     *            摘要算法
+     * @return 摘要实例
+     * @throws IllegalArgumentException
+     *             如果不支持指定算法
+     */
+    public static MessageDigest getDigest(final String algorithm) {
+        final Map<String, MessageDigest> digests = DIGESTS.get();
+        MessageDigest digest = digests.get(algorithm);
+        if (digest == null) {
+            try {
+                digest = MessageDigest.getInstance(algorithm);
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalArgumentException(e);
+            }
+            digests.put(algorithm, digest);
+        } else {
+            digest.reset();
+        }
+        return digest;
+    }
+
+    /**
+     * 计算指定数据的摘要
+     *
+     * @param algorithm
+     *            摘要算法
+     * @param data
+     *            数据
+     * @return 摘要
+     */
+    public static byte[] digest(final String algorithm, final byte[] data) {
+        return getDigest(algorithm).digest(data);
+    }
+
+    /**
+     * 以流的方式计算指定输入流中数据的摘要，不关闭输入流
+     *
+     * @param algorithm
+     *            摘要算法
+     * @param in
+     *            输入流
+     * @return 摘要
+     * @throws IOException
+     *             如果读取出现错误
+     */
+    public static byte[] digest(final String algorithm, final InputStream in) throws IOException {
+        final MessageDigest digest = getDigest(algorithm);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            digest.update(buffer, 0, n);
+        }
+        return digest.digest();
+    }
+
+    /**
+     * 计算指定数据的MD5摘要
+     *
+     * @param data
+     *            数据
+     * @return 32位小写十六进制的MD5摘要
+     */
+    public static String md5Hex(final byte[] data) {
+        return toHex(digest(MD5, data));
+    }
+
+    /**
+     * 以流的方式计算指定输入流中数据的MD5摘要，不关闭输入流
+     *
+     * @param in
+     *            输入流
+     * @return 32位小写十六进制的MD5摘要
+     * @throws IOException
+     *             如果读取出现错误
+     */
+    public static String md5Hex(final InputStream in) throws IOException {
+        return toHex(digest(MD5, in));
+    }
+
+    /**
+     * 将字节数组转换为小写十六进制字符串
+     *
+     * @param bytes
+     *            字节数组
+     * @return 十六进制字符串
+     */
+    public static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+}
@@ -1,12 +1,11 @@
 package org.truenewx.core.encrypt;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
 /**
@@ -17,25 +16,28 @@ import org.apache.commons.io.IOUtils;
  */
 public final class Md5Encrypter implements Encrypter {
 
+    /**
+     * 文件和输入流以流的方式计算摘要，不会一次性读入内存
+     */
     public static String encrypt32(final Object source) {
-        byte[] data;
         try {
             if (source instanceof File) {
-                data = FileUtils.readFileToByteArray((File) source);
+                try (InputStream in = new FileInputStream((File) source)) {
+                    return DigestEngine.md5Hex(in);
+                }
             } else if (source instanceof InputStream) {
-                data = IOUtils.toByteArray((InputStream) source);
+                return DigestEngine.md5Hex((InputStream) source);
             } else if (source instanceof Reader) {
-                data = IOUtils.toByteArray((Reader) source);
+                return DigestEngine.md5Hex(IOUtils.toByteArray((Reader) source));
             } else if (source instanceof byte[]) {
-                data = (byte[]) source;
+                return DigestEngine.md5Hex((byte[]) source);
             } else {
-                data = source.toString().getBytes();
+                return DigestEngine.md5Hex(source.toString().getBytes());
             }
         } catch (final IOException e) {
             e.printStackTrace();
             return null;
         }
-        return DigestUtils.md5Hex(data);
     }
 
     public static String encrypt16(final Object source) {
@@ -1,8 +1,5 @@
 package org.truenewx.core.encrypt;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * 扩展的MD5加密器
  * 
@@ -20,6 +17,17 @@ public class Md5xEncrypter implements KeyEncrypter {
      */
     public static final int MD5_ENCRYPT_LENGTH = 32;
 
+    /**
+     * 静态密钥-密文长度为{@link #ENCRYPTED_TEXT_LENGTH}时的MD5源字符位置索引表，索引表只读，各实例共享
+     */
+    private static final int[][] MD5_SOURCE_CHAR_INDEXES = new int[32][];
+
+    static {
+        for (int i = 0; i < MD5_SOURCE_CHAR_INDEXES.length; i++) {
+            MD5_SOURCE_CHAR_INDEXES[i] = buildMd5SourceCharIndexes(i, ENCRYPTED_TEXT_LENGTH);
+        }
+    }
+
     protected final int staticKey;
 
     public Md5xEncrypter(final int staticKey) {
@@ -44,17 +52,26 @@ public class Md5xEncrypter implements KeyEncrypter {
         return validateByMd5Source(encryptedText, md5Source, secretKey);
     }
 
-    private Integer[] getMd5SourceCharIndexes(final int staticKey, final int maxIndex) {
+    private int[] getMd5SourceCharIndexes(final int staticKey, final int maxIndex) {
+        if (maxIndex == ENCRYPTED_TEXT_LENGTH && staticKey >= 0
+                && staticKey < MD5_SOURCE_CHAR_INDEXES.length) {
+            return MD5_SOURCE_CHAR_INDEXES[staticKey];
+        }
+        return buildMd5SourceCharIndexes(staticKey, maxIndex);
+    }
+
+    private static int[] buildMd5SourceCharIndexes(final int staticKey, final int maxIndex) {
         final char[] c = Md5Encrypter.encrypt32(staticKey).toCharArray();
         final int length = c.length;
-        final List<Integer> list = new ArrayList<Integer>(length);
+        final int[] indexes = new int[length];
+        final boolean[] used = new boolean[maxIndex];
         for (int i = 0; i < length; i++) {
             int value;
             if (i == 0) {
                 value = c[i] % maxIndex;
             } else {
-                value = (list.get(i - 1) + c[i] % maxIndex) % maxIndex;
-                while (list.contains(value)) {
+                value = (indexes[i - 1] + c[i] % maxIndex) % maxIndex;
+                while (used[value]) {
                     if (value < maxIndex - 1) {
                         value++;
                     } else {
@@ -62,9 +79,10 @@ public class Md5xEncrypter implements KeyEncrypter {
                     }
                 }
             }
-            list.add(value);
+            indexes[i] = value;
+            used[value] = true;
         }
-        return list.toArray(new Integer[length]);
+        return indexes;
     }
 
     protected String encryptByMd5Source(final String md5Source, Object secretKey,
@@ -77,7 +95,7 @@ public class Md5xEncrypter implements KeyEncrypter {
         final char[] sourceChars = md5Source.toLowerCase().toCharArray();
         final int length = keyChars.length + sourceChars.length;
         final char[] c = new char[length];
-        final Integer[] sourceCharIndexes = getMd5SourceCharIndexes(staticKey, length);
+        final int[] sourceCharIndexes = getMd5SourceCharIndexes(staticKey, length);
         for (int i = 0; i < sourceChars.length; i++) {
             c[sourceCharIndexes[i]] = sourceChars[i];
         }
@@ -104,7 +122,7 @@ public class Md5xEncrypter implements KeyEncrypter {
             throw new IllegalArgumentException("The length of encrypted text must be "
                     + ENCRYPTED_TEXT_LENGTH);
         }
-        final Integer[] indexes = getMd5SourceCharIndexes(this.staticKey, encryptedText.length());
+        final int[] indexes = getMd5SourceCharIndexes(this.staticKey, encryptedText.length());
         final char[] c = new char[indexes.length];
         for (int i = 0; i < indexes.length; i++) {
             c[i] = encryptedText.charAt(indexes[i]);
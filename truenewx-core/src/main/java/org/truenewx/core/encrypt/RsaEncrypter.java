@@ -1,24 +1,42 @@
 package org.truenewx.core.encrypt;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.security.GeneralSecurityException;
 import java.security.Key;
 
 import javax.crypto.Cipher;
 
+import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
 /**
- * RSA加密器
+ * RSA加密器<br>
+ * 相同内容的密钥只解析一次，每个线程复用{@link Cipher}实例
  * 
  * @author jianglei
  * 
  */
 public final class RsaEncrypter {
 
+    public static final String ALGORITHM = "RSA";
+
+    private RsaEncrypter() {
+    }
+
+    /**
+     * 从输入流中读取以Java序列化方式保存的密钥，读取后关闭输入流
+     */
+    private static Key readKey(final InputStream in) throws IOException {
+        try (InputStream keyIn = in) {
+            return CipherEngine.getKey(keyIn);
+        }
+    }
+
     /**
      * 加密
      * 
@@ -26,21 +44,29 @@ public final class RsaEncrypter {
      *            源数据
      * @param publicKey
      *            公钥
-     * @return
+     * @return BASE64编码的密文
      * @throws Exception
      *
      * @author jianglei
      */
     public static String encrypt(final byte[] source, final InputStream publicKey) throws Exception {
-        /** 将文件中的公钥对象读出 */
-        final ObjectInputStream ois = new ObjectInputStream(publicKey);
-        final Key key = (Key) ois.readObject();
-        ois.close();
-        /** 得到Cipher对象来实现对源数据的RSA加密 */
-        final Cipher cipher = Cipher.getInstance("RSA");
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        /** 执行加密操作 */
-        final byte[] b1 = cipher.doFinal(source);
+        return encrypt(source, readKey(publicKey));
+    }
+
+    /**
+     * 加密
+     * 
+     * @param source
+     *            源数据
+     * @param publicKey
+     *            公钥
+     * @return BASE64编码的密文
+     * @throws GeneralSecurityException
+     *             如果加密出现错误
+     */
+    public static String encrypt(final byte[] source, final Key publicKey)
+            throws GeneralSecurityException {
+        final byte[] b1 = CipherEngine.process(ALGORITHM, Cipher.ENCRYPT_MODE, publicKey, source);
         return Base64Encrypter.INSTANCE.encrypt(b1);
     }
 
@@ -48,24 +74,55 @@ public final class RsaEncrypter {
      * 解密
      * 
      * @param cryptograph
-     *            密文
+     *            BASE64编码的密文
      * @param privateKey
      *            私钥
-     * @return
+     * @return 明文
      * @throws Exception
      *
      * @author jianglei
      */
     public static String decrypt(final String cryptograph, final InputStream privateKey)
             throws Exception {
-        /** 将文件中的私钥对象读出 */
-        final ObjectInputStream ois = new ObjectInputStream(privateKey);
-        final Key key = (Key) ois.readObject();
-        ois.close();
-        /** 得到Cipher对象对已用公钥加密的数据进行RSA解密 */
-        final Cipher cipher = Cipher.getInstance("RSA");
-        cipher.init(Cipher.DECRYPT_MODE, key);
-        return Base64Encrypter.INSTANCE.decrypt(cryptograph);
+        return decrypt(cryptograph, readKey(privateKey));
+    }
+
+    /**
+     * 解密
+     * 
+     * @param cryptograph
+     *            BASE64编码的密文
+     * @param privateKey
+     *            私钥
+     * @return 明文
+     * @throws GeneralSecurityException
+     *             如果解密出现错误
+     */
+    public static String decrypt(final String cryptograph, final Key privateKey)
+            throws GeneralSecurityException {
+        final byte[] data = Base64.decodeBase64(cryptograph);
+        return new String(CipherEngine.process(ALGORITHM, Cipher.DECRYPT_MODE, privateKey, data));
+    }
+
+    /**
+     * 以流的方式加密或解密，不关闭输入流和输出流。RSA一次可处理的数据长度受密钥长度限制
+     * 
+     * @param mode
+     *            模式，{@link Cipher#ENCRYPT_MODE}或{@link Cipher#DECRYPT_MODE}
+     * @param key
+     *            加密时为公钥，解密时为私钥
+     * @param in
+     *            输入流
+     * @param out
+     *            输出流
+     * @throws IOException
+     *             如果读写出现错误
+     * @throws GeneralSecurityException
+     *             如果加解密出现错误
+     */
+    public static void process(final int mode, final Key key, final InputStream in,
+            final OutputStream out) throws IOException, GeneralSecurityException {
+        CipherEngine.process(ALGORITHM, mode, key, in, out);
     }
 
     /**
@@ -75,8 +132,7 @@ public final class RsaEncrypter {
      *            源数据
      * @param publicKey
      *            公钥
-     * @return
-     * @throws Exception
+     * @return BASE64编码的密文，加密出现错误时返回null
      *
      * @author jianglei
      */
@@ -94,12 +150,11 @@ public final class RsaEncrypter {
             } else {
                 data = source.toString().getBytes();
             }
-            encrypt(data, publicKey);
+            return encrypt(data, publicKey);
         } catch (final Exception e) {
             e.printStackTrace();
             return null;
         }
-        return null;
     }
 
 }
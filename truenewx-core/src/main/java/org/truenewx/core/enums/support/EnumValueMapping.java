@@ -0,0 +1,91 @@
+package org.truenewx.core.enums.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.truenewx.core.enums.annotation.EnumValue;
+
+import com.google.common.base.Enums;
+
+/**
+ * 枚举值映射表，记录枚举类型中各枚举常量与其{@link EnumValue}注解值之间的双向映射。<br/>
+ * 每个枚举类型只在首次使用时反射解析一次，之后的转换均为查表，不再反射
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class EnumValueMapping {
+
+    private static final Map<Class<?>, EnumValueMapping> MAPPINGS = new ConcurrentHashMap<>();
+
+    /**
+     * [枚举常量序号] - 枚举值，无注解的枚举常量对应null
+     */
+    private final String[] values;
+    /**
+     * 枚举值-枚举常量的映射集
+     */
+    private final Map<String, Enum<?>> constants;
+
+    private EnumValueMapping(final Class<?> enumClass) {
+        final Enum<?>[] enumConstants = (Enum<?>[]) enumClass.getEnumConstants();
+        this.values = new String[enumConstants.length];
+        final Map<String, Enum<?>> constants = new HashMap<>();
+        for (final Enum<?> enumConstant : enumConstants) {
+            final EnumValue ev = Enums.getField(enumConstant).getAnnotation(EnumValue.class);
+            if (ev != null) {
+                this.values[enumConstant.ordinal()] = ev.value();
+                if (!constants.containsKey(ev.value())) { // 重复的枚举值以序号靠前者为准
+                    constants.put(ev.value(), enumConstant);
+                }
+            }
+        }
+        this.constants = constants;
+    }
+
+    /**
+     * 获取指定枚举类型的枚举值映射表
+     *
+     * @param enumClass
+     *            枚举类型
+     * @return 枚举值映射表，指定类型不是枚举类型时返回null
+     */
+    @Nullable
+    public static EnumValueMapping of(final Class<?> enumClass) {
+        EnumValueMapping mapping = MAPPINGS.get(enumClass);
+        if (mapping == null && enumClass.isEnum()) {
+            mapping = new EnumValueMapping(enumClass);
+            MAPPINGS.put(enumClass, mapping);
+        }
+        return mapping;
+    }
+
+    /**
+     * 获取指定枚举常量的枚举值
+     *
+     * @param enumConstant
+     *            枚举常量
+     * @return 枚举值，枚举常量没有{@link EnumValue}注解时返回null
+     */
+    @Nullable
+    public static String getValue(final Enum<?> enumConstant) {
+        return of(enumConstant.getDeclaringClass()).values[enumConstant.ordinal()];
+    }
+
+    /**
+     * 获取指定枚举值对应的枚举常量
+     *
+     * @param value
+     *            枚举值，首尾的空白将被忽略
+     * @return 枚举常量，没有对应的枚举常量时返回null
+     */
+    @Nullable
+    public Enum<?> getConstant(@Nullable final String value) {
+        // 没有首尾空白时trim()返回原字符串，不产生新对象
+        return value == null ? null : this.constants.get(value.trim());
+    }
+
+}
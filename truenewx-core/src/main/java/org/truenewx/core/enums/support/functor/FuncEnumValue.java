@@ -1,12 +1,9 @@
 package org.truenewx.core.enums.support.functor;
 
-import java.lang.reflect.Field;
-
 import javax.annotation.Nullable;
 
-import org.truenewx.core.enums.annotation.EnumValue;
+import org.truenewx.core.enums.support.EnumValueMapping;
 
-import com.google.common.base.Enums;
 import com.google.common.base.Function;
 
 /**
@@ -27,12 +24,7 @@ public class FuncEnumValue implements Function<Enum<?>, String> {
     @Override
     @Nullable
     public String apply(final Enum<?> enumConstant) {
-        final Field field = Enums.getField(enumConstant);
-        final EnumValue ev = field.getAnnotation(EnumValue.class);
-        if (ev != null) {
-            return ev.value();
-        }
-        return null;
+        return EnumValueMapping.getValue(enumConstant);
     }
 
 }
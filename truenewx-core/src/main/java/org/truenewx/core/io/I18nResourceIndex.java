@@ -0,0 +1,264 @@
+package org.truenewx.core.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.ResourceUtils;
+import org.truenewx.core.Strings;
+import org.truenewx.core.util.IOUtil;
+
+/**
+ * 国际化资源索引<br/>
+ * 每组基本名和扩展名只扫描一次，建立区域-资源的映射表，之后的查找均为查表。
+ * 查找时依次回退：语言_国家、语言、同语言的其它国家、无区域。<br/>
+ * 可开启目录监视，目录中的文件变化时使相应的目录索引失效，适用于以展开目录方式部署的web应用
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class I18nResourceIndex {
+
+    private static final ResourcePatternResolver RESOLVER = new PathMatchingResourcePatternResolver();
+    /**
+     * 查找模式-类路径资源候选集的映射集
+     */
+    private static final Map<String, Candidates<Resource>> RESOURCE_INDEX = new ConcurrentHashMap<>();
+    /**
+     * [目录绝对路径, 基本名, 扩展名] - 文件候选集的映射集
+     */
+    private static final Map<List<String>, Candidates<File>> FILE_INDEX = new ConcurrentHashMap<>();
+    private static volatile WatchService watchService;
+    private static Logger logger = LoggerFactory.getLogger(I18nResourceIndex.class);
+
+    private I18nResourceIndex() {
+    }
+
+    /**
+     * 查找与指定区域匹配的国际化的类路径资源
+     *
+     * @param basename
+     *            资源基本名，可以classpath:开头，已规范化为以/为路径分隔符
+     * @param locale
+     *            区域
+     * @param extension
+     *            扩展名，以句点开头
+     * @return 与指定区域匹配的国际化的资源，如果找不到则返回null
+     */
+    public static Resource findResource(final String basename, final Locale locale,
+            final String extension) {
+        // 把basename中classpath:替换为classpath*:后进行查找
+        final String pattern = basename.replace(ResourceUtils.CLASSPATH_URL_PREFIX,
+                ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX) + Strings.ASTERISK + extension;
+        Candidates<Resource> candidates = RESOURCE_INDEX.get(pattern);
+        if (candidates == null) {
+            candidates = new Candidates<>();
+            final String simpleBasename = basename.substring(basename.lastIndexOf('/') + 1)
+                    .replace(ResourceUtils.CLASSPATH_URL_PREFIX, Strings.EMPTY);
+            try {
+                for (final Resource resource : RESOLVER.getResources(pattern)) {
+                    candidates.add(getSuffix(resource.getFilename(), simpleBasename, extension),
+                            resource);
+                }
+            } catch (final IOException e) {
+                logger.error(e.getMessage(), e);
+            }
+            RESOURCE_INDEX.put(pattern, candidates);
+        }
+        return candidates.get(locale);
+    }
+
+    /**
+     * 查找指定目录下与指定区域匹配的国际化的文件
+     *
+     * @param baseDir
+     *            目录
+     * @param basename
+     *            文件基本名称，不含扩展名
+     * @param extension
+     *            扩展名，以句点开头
+     * @param locale
+     *            区域
+     * @return 找到的文件，如果没找到则返回null
+     */
+    public static File findFile(final String baseDir, final String basename,
+            final String extension, final Locale locale) {
+        final File dir = new File(baseDir);
+        final List<String> key = Arrays.asList(dir.getAbsolutePath(), basename, extension);
+        Candidates<File> candidates = FILE_INDEX.get(key);
+        if (candidates == null) {
+            candidates = new Candidates<>();
+            final List<File> files = new ArrayList<>();
+            IOUtil.findFiles(baseDir, basename + Strings.ASTERISK + extension, files);
+            for (final File file : files) {
+                candidates.add(getSuffix(file.getName(), basename, extension), file);
+            }
+            // 先注册监视再放入索引，以免错过期间的变化
+            register(dir);
+            FILE_INDEX.put(key, candidates);
+        }
+        return candidates.get(locale);
+    }
+
+    private static String getSuffix(final String fileName, final String basename,
+            final String extension) {
+        if (fileName != null && fileName.startsWith(basename) && fileName.endsWith(extension)
+                && fileName.length() >= basename.length() + extension.length()) {
+            return fileName.substring(basename.length(), fileName.length() - extension.length());
+        }
+        return null;
+    }
+
+    /**
+     * 开启目录监视，之后已索引和新索引的目录中的文件变化时，该目录的索引将失效
+     *
+     * @throws IOException
+     *             如果创建监视服务出现错误
+     */
+    public static synchronized void enableWatching() throws IOException {
+        if (watchService == null) {
+            watchService = FileSystems.getDefault().newWatchService();
+            final Thread thread = new Thread(I18nResourceIndex::watch, "i18n-resource-watcher");
+            thread.setDaemon(true);
+            thread.start();
+            for (final List<String> key : FILE_INDEX.keySet()) {
+                register(new File(key.get(0)));
+            }
+        }
+    }
+
+    /**
+     * 清空所有索引
+     */
+    public static void clear() {
+        RESOURCE_INDEX.clear();
+        FILE_INDEX.clear();
+    }
+
+    private static void register(final File dir) {
+        final WatchService watchService = I18nResourceIndex.watchService;
+        if (watchService != null && dir.isDirectory()) {
+            try {
+                dir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (final IOException e) {
+                logger.warn("Failed to watch directory " + dir, e);
+                return;
+            }
+            final File[] subDirs = dir.listFiles(File::isDirectory);
+            if (subDirs != null) {
+                for (final File subDir : subDirs) {
+                    register(subDir);
+                }
+            }
+        }
+    }
+
+    private static void watch() {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (final InterruptedException e) {
+                return;
+            }
+            key.pollEvents();
+            final String path = ((Path) key.watchable()).toFile().getAbsolutePath();
+            // 变化的目录位于某索引目录之下时，使该索引失效
+            FILE_INDEX.keySet().removeIf(indexKey -> path.startsWith(indexKey.get(0)));
+            key.reset();
+        }
+    }
+
+    /**
+     * 同一基本名和扩展名的国际化候选集
+     */
+    private static class Candidates<T> {
+        /**
+         * 小写的区域名称（如zh_cn、zh）-候选对象
+         */
+        private Map<String, T> localized = new HashMap<>();
+        /**
+         * 小写的语言-该语言下的首个候选对象
+         */
+        private Map<String, T> languages = new HashMap<>();
+        /**
+         * 基本名与扩展名之间无内容的候选对象
+         */
+        private T defaultCandidate;
+        /**
+         * 基本名与扩展名之间有不含下划线的其它内容的候选对象，没有defaultCandidate时作为无区域的候选对象
+         */
+        private T looseDefaultCandidate;
+
+        /**
+         *
+         * @param suffix
+         *            文件名中基本名与扩展名之间的部分
+         * @param candidate
+         *            候选对象
+         */
+        public void add(final String suffix, final T candidate) {
+            if (suffix == null) {
+                return;
+            }
+            if (suffix.startsWith(Strings.UNDERLINE)) {
+                final String localeName = suffix.substring(1).toLowerCase();
+                if (!this.localized.containsKey(localeName)) {
+                    this.localized.put(localeName, candidate);
+                }
+                final int index = localeName.indexOf('_');
+                final String language = index < 0 ? localeName : localeName.substring(0, index);
+                if (!this.languages.containsKey(language)) {
+                    this.languages.put(language, candidate);
+                }
+            } else if (suffix.isEmpty()) {
+                if (this.defaultCandidate == null) {
+                    this.defaultCandidate = candidate;
+                }
+            } else if (suffix.indexOf('_') < 0 && this.looseDefaultCandidate == null) {
+                this.looseDefaultCandidate = candidate;
+            }
+        }
+
+        public T get(final Locale locale) {
+            if (locale != null) {
+                final String language = locale.getLanguage().toLowerCase();
+                final String country = locale.getCountry().toLowerCase();
+                T candidate = null;
+                if (country.length() > 0) {
+                    candidate = this.localized.get(language + Strings.UNDERLINE + country);
+                }
+                if (candidate == null) {
+                    candidate = this.localized.get(language);
+                }
+                if (candidate == null) {
+                    candidate = this.languages.get(language);
+                }
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+            return this.defaultCandidate == null ? this.looseDefaultCandidate
+                    : this.defaultCandidate;
+        }
+    }
+
+}
@@ -1,5 +1,14 @@
 package org.truenewx.core.io;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.commons.io.IOUtils;
+
 /**
  * 文本内容转换器
  *
@@ -10,4 +19,38 @@ public interface TextContentConverter {
 
     String convert(String content);
 
+    /**
+     * 转换指定文本文件的内容，内容未发生变化时不改写文件。
+     * 默认读取全部内容后调用{@link #convert(String)}转换，写出到同目录下的临时文件后替换原文件，实现类可按需优化
+     *
+     * @param file
+     *            文本文件
+     * @param encoding
+     *            文件编码
+     * @return 文件是否被改写
+     * @throws IOException
+     *             如果读写文件出现错误
+     */
+    default boolean convert(final File file, final String encoding) throws IOException {
+        final String content;
+        try (FileInputStream in = new FileInputStream(file)) {
+            content = IOUtils.toString(in, encoding);
+        }
+        final String result = convert(content);
+        if (result.equals(content)) {
+            return false;
+        }
+        final File tempFile = File.createTempFile("." + file.getName() + ".", ".tmp",
+                file.getAbsoluteFile().getParentFile());
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                IOUtils.write(result, out, encoding);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tempFile.delete(); // 移动成功后临时文件已不存在
+        }
+        return true;
+    }
+
 }
@@ -1,28 +1,321 @@
 package org.truenewx.core.io;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * 文本内容替换转换器
+ * 文本内容替换转换器<br/>
+ * 默认按声明顺序逐个规则依次替换，后面的规则作用于前面的规则替换后的内容，各规则的正则表达式在构造时预编译。<br/>
+ * 指定一遍扫描时，将所有规则预编译为一个组合正则表达式，转换时只需扫描一遍文本，同一位置上先声明的规则优先，
+ * 各规则均作用于原始文本；只有一个规则时两种方式结果相同，自动采用一遍扫描。
+ * 规则中含有反向引用或命名分组重复而无法组合时，仍逐个规则依次替换
  *
  * @author jianglei
  * @since JDK 1.8
  */
 public class TextContentReplaceConverter implements TextContentConverter {
 
+    private static final int BUFFER_SIZE = 8192;
+
     private Map<String, String> replacement;
+    /**
+     * [规则序号] - 规则的正则表达式，逐个规则依次替换时使用
+     */
+    private Pattern[] rulePatterns;
+    /**
+     * 组合正则表达式，为null时逐个规则依次替换
+     */
+    private Pattern pattern;
+    /**
+     * [规则序号] - 规则在组合正则表达式中的外层分组序号
+     */
+    private int[] ruleGroups;
+    /**
+     * [规则序号] - 解析后的替换内容片段
+     */
+    private Segment[][] ruleSegments;
 
+    /**
+     * 构建逐个规则依次替换的转换器
+     *
+     * @param replacement
+     *            正则表达式-替换内容的映射集
+     */
     public TextContentReplaceConverter(final Map<String, String> replacement) {
+        this(replacement, false);
+    }
+
+    /**
+     *
+     * @param replacement
+     *            正则表达式-替换内容的映射集
+     * @param singlePass
+     *            是否一遍扫描完成所有替换。一遍扫描时各规则均作用于原始文本，不再替换其它规则替换后的内容，
+     *            结果可能与逐个规则依次替换不同，仅适用于规则之间互不影响的场景
+     */
+    public TextContentReplaceConverter(final Map<String, String> replacement,
+            final boolean singlePass) {
         this.replacement = replacement;
+        this.rulePatterns = new Pattern[replacement.size()];
+        int rule = 0;
+        for (final String regex : replacement.keySet()) {
+            this.rulePatterns[rule++] = Pattern.compile(regex);
+        }
+        if (singlePass || replacement.size() == 1) {
+            compile();
+        }
+    }
+
+    private void compile() {
+        final StringBuilder regex = new StringBuilder();
+        final int[] ruleGroups = new int[this.replacement.size()];
+        final Segment[][] ruleSegments = new Segment[ruleGroups.length][];
+        int group = 1;
+        int rule = 0;
+        try {
+            for (final Entry<String, String> entry : this.replacement.entrySet()) {
+                final String ruleRegex = entry.getKey();
+                if (hasBackReference(ruleRegex)) { // 反向引用的分组序号在组合后将改变
+                    return;
+                }
+                final int groupCount = Pattern.compile(ruleRegex).matcher("").groupCount();
+                if (regex.length() > 0) {
+                    regex.append('|');
+                }
+                regex.append('(').append(ruleRegex).append(')');
+                ruleGroups[rule] = group;
+                ruleSegments[rule] = parseReplacement(entry.getValue(), group, groupCount);
+                group += groupCount + 1;
+                rule++;
+            }
+            if (rule > 0) {
+                this.pattern = Pattern.compile(regex.toString());
+                this.ruleGroups = ruleGroups;
+                this.ruleSegments = ruleSegments;
+            }
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            // 命名分组重复等导致无法组合时逐个规则替换，规则本身有误时在替换时抛出异常
+            this.pattern = null;
+        }
+    }
+
+    private static boolean hasBackReference(final String regex) {
+        for (int i = 0; i < regex.length() - 1; i++) {
+            if (regex.charAt(i) == '\\') {
+                final char c = regex.charAt(++i);
+                if ((c >= '1' && c <= '9') || c == 'k') {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按照{@link Matcher#appendReplacement(StringBuffer, String)}的规则解析替换内容，
+     * 并将其中的分组引用换算为组合正则表达式中的分组序号
+     */
+    private static Segment[] parseReplacement(final String replacement, final int baseGroup,
+            final int groupCount) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < replacement.length()) {
+            final char c = replacement.charAt(i++);
+            if (c == '\\') {
+                if (i >= replacement.length()) {
+                    throw new IllegalArgumentException("character to be escaped is missing");
+                }
+                literal.append(replacement.charAt(i++));
+            } else if (c == '$') {
+                if (i >= replacement.length()) {
+                    throw new IllegalArgumentException(
+                            "Illegal group reference: group index is missing");
+                }
+                final Segment segment;
+                if (replacement.charAt(i) == '{') {
+                    final int end = replacement.indexOf('}', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException(
+                                "named capturing group is missing trailing '}'");
+                    }
+                    segment = Segment.ofGroupName(replacement.substring(i + 1, end));
+                    i = end + 1;
+                } else {
+                    int refNum = replacement.charAt(i++) - '0';
+                    if (refNum < 0 || refNum > 9) {
+                        throw new IllegalArgumentException("Illegal group reference");
+                    }
+                    // 贪婪地读取后续数字，直至超出分组数
+                    while (i < replacement.length()) {
+                        final int nextDigit = replacement.charAt(i) - '0';
+                        if (nextDigit < 0 || nextDigit > 9) {
+                            break;
+                        }
+                        final int newRefNum = refNum * 10 + nextDigit;
+                        if (newRefNum > groupCount) {
+                            break;
+                        }
+                        refNum = newRefNum;
+                        i++;
+                    }
+                    if (refNum > groupCount) {
+                        throw new IndexOutOfBoundsException("No group " + refNum);
+                    }
+                    segment = Segment.ofGroup(baseGroup + refNum);
+                }
+                if (literal.length() > 0) {
+                    segments.add(Segment.ofLiteral(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(segment);
+            } else {
+                literal.append(c);
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(Segment.ofLiteral(literal.toString()));
+        }
+        return segments.toArray(new Segment[segments.size()]);
     }
 
     @Override
     public String convert(String content) {
-        for (final Entry<String, String> entry : this.replacement.entrySet()) {
-            content = content.replaceAll(entry.getKey(), entry.getValue());
+        if (this.pattern == null) {
+            int rule = 0;
+            for (final String ruleReplacement : this.replacement.values()) {
+                content = this.rulePatterns[rule++].matcher(content).replaceAll(ruleReplacement);
+            }
+            return content;
+        }
+        final Matcher matcher = this.pattern.matcher(content);
+        if (!matcher.find()) {
+            return content;
+        }
+        final StringBuilder sb = new StringBuilder(content.length() + 16);
+        try {
+            replace(content, matcher, sb);
+        } catch (final IOException e) { // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 一遍扫描时，文件内容读入一个缓冲区后完成所有替换，并直接写出到同目录下的临时文件，完成后替换原文件；
+     * 没有任何需替换的内容时不改写文件
+     */
+    @Override
+    public boolean convert(final File file, final String encoding) throws IOException {
+        if (this.pattern == null) {
+            return TextContentConverter.super.convert(file, encoding);
+        }
+        final StringBuilder content = new StringBuilder(
+                (int) Math.min(file.length(), Integer.MAX_VALUE));
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), encoding)) {
+            final char[] buffer = new char[BUFFER_SIZE];
+            int n;
+            while ((n = reader.read(buffer)) >= 0) {
+                content.append(buffer, 0, n);
+            }
+        }
+        final Matcher matcher = this.pattern.matcher(content);
+        if (!matcher.find()) {
+            return false;
+        }
+        writeFile(file, encoding, content, matcher);
+        return true;
+    }
+
+    private void writeFile(final File file, final String encoding, final CharSequence content,
+            final Matcher matcher) throws IOException {
+        final File tempFile = File.createTempFile("." + file.getName() + ".", ".tmp",
+                file.getAbsoluteFile().getParentFile());
+        try {
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(new FileOutputStream(tempFile), encoding), BUFFER_SIZE)) {
+                replace(content, matcher, writer);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tempFile.delete(); // 移动成功后临时文件已不存在
+        }
+    }
+
+    /**
+     * 从匹配器当前的匹配开始，将替换后的内容输出到指定目标中
+     */
+    private void replace(final CharSequence content, final Matcher matcher, final Appendable out)
+            throws IOException {
+        int index = 0;
+        do {
+            out.append(content, index, matcher.start());
+            final Segment[] segments = this.ruleSegments[getMatchedRule(matcher)];
+            for (final Segment segment : segments) {
+                if (segment.literal != null) {
+                    out.append(segment.literal);
+                } else {
+                    final String group = segment.groupName == null ? matcher.group(segment.group)
+                            : matcher.group(segment.groupName);
+                    if (group != null) {
+                        out.append(group);
+                    }
+                }
+            }
+            index = matcher.end();
+        } while (matcher.find());
+        out.append(content, index, content.length());
+    }
+
+    private int getMatchedRule(final Matcher matcher) {
+        for (int i = 0; i < this.ruleGroups.length; i++) {
+            if (matcher.start(this.ruleGroups[i]) >= 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No rule matched");
+    }
+
+    /**
+     * 替换内容片段：字面内容、分组序号引用或分组名称引用
+     */
+    private static class Segment {
+        private String literal;
+        private int group;
+        private String groupName;
+
+        public static Segment ofLiteral(final String literal) {
+            final Segment segment = new Segment();
+            segment.literal = literal;
+            return segment;
+        }
+
+        public static Segment ofGroup(final int group) {
+            final Segment segment = new Segment();
+            segment.group = group;
+            return segment;
+        }
+
+        public static Segment ofGroupName(final String groupName) {
+            final Segment segment = new Segment();
+            segment.groupName = groupName;
+            return segment;
         }
-        return content;
     }
 
 }
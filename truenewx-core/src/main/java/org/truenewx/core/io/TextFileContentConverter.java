@@ -1,18 +1,21 @@
 package org.truenewx.core.io;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
-import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.ResourcePatternResolver;
 
 /**
- * 文本文件内容转换器
+ * 文本文件内容转换器<br/>
+ * 内容未发生变化的文件不会被改写；指定了线程池时多个文件并行转换
  *
  * @author jianglei
  * @since JDK 1.8
@@ -21,6 +24,10 @@ public class TextFileContentConverter implements FileContentConverter {
 
     private TextContentConverter textContentConverter;
     private ResourcePatternResolver resourcePatternResolver;
+    /**
+     * 并行转换所用的线程池，为null时逐个文件转换
+     */
+    private ExecutorService executor;
 
     public void setTextContentConverter(final TextContentConverter textContentConverter) {
         this.textContentConverter = textContentConverter;
@@ -31,6 +38,16 @@ public class TextFileContentConverter implements FileContentConverter {
         this.resourcePatternResolver = resourcePatternResolver;
     }
 
+    /**
+     * 设置并行转换所用的线程池，线程池的大小即限定了同时转换的文件数
+     *
+     * @param executor
+     *            线程池
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
     @Override
     public void convert(final String locationPattern, final String encoding) {
         try {
@@ -38,21 +55,53 @@ public class TextFileContentConverter implements FileContentConverter {
             if (resources.length == 0) {
                 throw new FileNotFoundException(locationPattern);
             }
-            for (final Resource resource : resources) {
-                final File file = resource.getFile();
-                final FileInputStream in = new FileInputStream(file);
-                String content = IOUtils.toString(in, encoding);
-                in.close();
-
-                content = this.textContentConverter.convert(content);
-
-                final FileOutputStream out = new FileOutputStream(file);
-                IOUtils.write(content, out);
-                out.close();
+            if (this.executor == null || resources.length == 1) {
+                for (final Resource resource : resources) {
+                    convert(resource.getFile(), encoding);
+                }
+            } else {
+                convertInParallel(resources, encoding);
             }
         } catch (final IOException e) {
             e.printStackTrace();
         }
     }
 
+    private void convertInParallel(final Resource[] resources, final String encoding)
+            throws IOException {
+        final List<Future<?>> futures = new ArrayList<>(resources.length);
+        for (final Resource resource : resources) {
+            final File file = resource.getFile();
+            futures.add(this.executor.submit(() -> {
+                convert(file, encoding);
+                return null;
+            }));
+        }
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void convert(final File file, final String encoding) throws IOException {
+        this.textContentConverter.convert(file, encoding);
+    }
+
 }
@@ -0,0 +1,45 @@
+package org.truenewx.core.region;
+
+import java.util.Locale;
+
+import javax.annotation.Nullable;
+
+/**
+ * 行政区划显示名来源，提供区划从国家级到自身的各级显示名路径
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public interface RegionCaptionSource {
+
+    /**
+     * 获取指定区划从国家级到自身的各级显示名，第0个元素为国家级显示名
+     *
+     * @param regionCode
+     *            行政区划代号
+     * @param locale
+     *            显示区域
+     * @return 各级显示名，如果区划不存在则返回null
+     */
+    @Nullable
+    String[] getCaptions(String regionCode, @Nullable Locale locale);
+
+    /**
+     * 获取指定区划在指定层级范围内以指定分隔符连接的各级显示名，国家级为第1级
+     *
+     * @param regionCode
+     *            行政区划代号
+     * @param startLevel
+     *            起始层级（包含）
+     * @param endLevel
+     *            结束层级（包含）
+     * @param delimiter
+     *            分隔符
+     * @param locale
+     *            显示区域
+     * @return 连接后的显示名，如果区划不存在则返回空字符串
+     */
+    String getCaption(String regionCode, int startLevel, int endLevel, String delimiter,
+            @Nullable Locale locale);
+
+}
@@ -0,0 +1,129 @@
+package org.truenewx.core.region;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.truenewx.core.Strings;
+import org.truenewx.core.util.ConcurrentCache;
+
+/**
+ * 行政区划显示名来源实现。<br>
+ * 每个显示区域首次访问时一次性预计算所有区划的各级显示名，连接结果另以有数量限制的缓存保存
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class RegionCaptionSourceImpl implements RegionCaptionSource {
+
+    private RegionSource regionSource;
+    /**
+     * 显示区域-区划代号-各级显示名的映射集
+     */
+    private Map<Locale, Map<String, String[]>> localeCaptionsMap = new ConcurrentHashMap<>();
+    /**
+     * 连接后的显示名缓存
+     */
+    private ConcurrentCache<String, String> joinedCaptions = new ConcurrentCache<>(4096);
+
+    public void setRegionSource(final RegionSource regionSource) {
+        this.regionSource = regionSource;
+    }
+
+    /**
+     *
+     * @param maxCachedSize
+     *            连接后的显示名缓存的最大数量，默认为4096
+     */
+    public void setMaxCachedSize(final int maxCachedSize) {
+        this.joinedCaptions = new ConcurrentCache<>(maxCachedSize);
+    }
+
+    private Map<String, String[]> getCaptionsMap(Locale locale) {
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        Map<String, String[]> captionsMap = this.localeCaptionsMap.get(locale);
+        if (captionsMap == null) {
+            captionsMap = new HashMap<>();
+            for (final Region nationalRegion : this.regionSource.getNationalRegions(locale)) {
+                if (nationalRegion != null) {
+                    putCaptions(captionsMap, nationalRegion, new String[0]);
+                }
+            }
+            captionsMap = Collections.unmodifiableMap(captionsMap);
+            this.localeCaptionsMap.put(locale, captionsMap);
+        }
+        return captionsMap;
+    }
+
+    private void putCaptions(final Map<String, String[]> captionsMap, final Region region,
+            final String[] parentCaptions) {
+        final String[] captions = new String[parentCaptions.length + 1];
+        System.arraycopy(parentCaptions, 0, captions, 0, parentCaptions.length);
+        captions[parentCaptions.length] = region.getCaption();
+        captionsMap.put(region.getCode(), captions);
+        final Collection<Region> subs = region.getSubs();
+        if (subs != null) {
+            for (final Region sub : subs) {
+                putCaptions(captionsMap, sub, captions);
+            }
+        }
+    }
+
+    @Override
+    @Nullable
+    public String[] getCaptions(final String regionCode, @Nullable final Locale locale) {
+        final String[] captions = findCaptions(regionCode, locale);
+        return captions == null ? null : captions.clone();
+    }
+
+    private String[] findCaptions(final String regionCode, final Locale locale) {
+        String[] captions = getCaptionsMap(locale).get(regionCode);
+        if (captions == null) { // 不在区划树中的区划，直接向上遍历获取
+            final Region region = this.regionSource.getRegion(regionCode, locale);
+            if (region != null) {
+                final List<Region> link = region.getLinkFromTop();
+                captions = new String[link.size()];
+                for (int i = 0; i < captions.length; i++) {
+                    captions[i] = link.get(i).getCaption();
+                }
+            }
+        }
+        return captions;
+    }
+
+    @Override
+    public String getCaption(final String regionCode, final int startLevel, final int endLevel,
+            final String delimiter, @Nullable final Locale locale) {
+        if (regionCode == null) {
+            return Strings.EMPTY;
+        }
+        final String key = new StringBuilder(regionCode).append(Strings.COMMA).append(startLevel)
+                .append(Strings.COMMA).append(endLevel).append(Strings.COMMA).append(locale)
+                .append(Strings.COMMA).append(delimiter).toString();
+        return this.joinedCaptions.get(key, k -> {
+            final String[] captions = findCaptions(regionCode, locale);
+            if (captions == null) {
+                return Strings.EMPTY;
+            }
+            final int start = Math.max(startLevel, 1) - 1;
+            final int end = Math.min(endLevel, captions.length);
+            final StringBuilder sb = new StringBuilder();
+            for (int i = start; i < end; i++) {
+                if (i > start && delimiter != null) {
+                    sb.append(delimiter);
+                }
+                sb.append(captions[i]);
+            }
+            return sb.toString();
+        });
+    }
+
+}
@@ -4,16 +4,22 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 
+import org.truenewx.core.net.InetAddressRange;
 import org.truenewx.core.net.InetAddressSet;
 import org.truenewx.core.util.IOUtil;
+import org.truenewx.core.util.NetUtil;
 
 /**
- * 网络地址->区划解决器实现
+ * 网络地址->区划解决器实现。IPv4地址通过按起始地址排序的地址段索引二分查找
  *
  * @author jianglei
  * @since JDK 1.8
@@ -23,6 +29,7 @@ public class InetAddressRegionResolverImpl implements InetAddressRegionResolver
     private Properties cache = new Properties();
     private File cacheFile;
     private int storeCachePerSize = 10;
+    private volatile Inet4AddressIndex inet4AddressIndex;
 
     public void setRegionInetAddressSetMapSource(
             final RegionInetAddressSetMapSource regionInetAddressSetMapSource) {
@@ -74,14 +81,20 @@ public class InetAddressRegionResolverImpl implements InetAddressRegionResolver
         if (region == null) {
             final Map<String, InetAddressSet> map = this.regionInetAddressSetMapSource.getMap();
             if (map != null) {
-                for (final Entry<String, InetAddressSet> entry : map.entrySet()) {
-                    if (entry.getValue().contains(address)) {
-                        region = entry.getKey();
-                        this.cache.put(ip, region);
-                        if (this.cache.size() % this.storeCachePerSize == 0) {
-                            storeCache();
+                if (address instanceof Inet4Address) {
+                    region = getInet4AddressIndex(map).find(NetUtil.intValueOf(address));
+                } else {
+                    for (final Entry<String, InetAddressSet> entry : map.entrySet()) {
+                        if (entry.getValue().contains(address)) {
+                            region = entry.getKey();
+                            break;
                         }
-                        break;
+                    }
+                }
+                if (region != null) {
+                    this.cache.put(ip, region);
+                    if (this.cache.size() % this.storeCachePerSize == 0) {
+                        storeCache();
                     }
                 }
             }
@@ -89,4 +102,87 @@ public class InetAddressRegionResolverImpl implements InetAddressRegionResolver
         return region;
     }
 
+    private Inet4AddressIndex getInet4AddressIndex(final Map<String, InetAddressSet> map) {
+        Inet4AddressIndex index = this.inet4AddressIndex;
+        if (index == null || index.map != map) {
+            index = new Inet4AddressIndex(map);
+            this.inet4AddressIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * IPv4地址段索引
+     */
+    private static class Inet4AddressIndex {
+        private final Map<String, InetAddressSet> map;
+        private final int[] begins;
+        private final int[] ends;
+        /**
+         * 截至每个位置（包含）的最大结束地址，用于处理互相重叠的地址段
+         */
+        private final int[] maxEnds;
+        /**
+         * 地址段所属区划在映射集中的顺序，重叠时顺序靠前者优先
+         */
+        private final int[] orders;
+        private final String[] regionCodes;
+
+        public Inet4AddressIndex(final Map<String, InetAddressSet> map) {
+            this.map = map;
+            final List<Object[]> ranges = new ArrayList<>();
+            int order = 0;
+            for (final Entry<String, InetAddressSet> entry : map.entrySet()) {
+                for (final InetAddressRange<?> range : entry.getValue().getRanges()) {
+                    if (range.getAddressClass() == Inet4Address.class) {
+                        ranges.add(new Object[] { NetUtil.intValueOf(range.getBegin()),
+                                NetUtil.intValueOf(range.getEnd()), order, entry.getKey() });
+                    }
+                }
+                order++;
+            }
+            Collections.sort(ranges, (r1, r2) -> Integer.compare((Integer) r1[0], (Integer) r2[0]));
+            final int size = ranges.size();
+            this.begins = new int[size];
+            this.ends = new int[size];
+            this.maxEnds = new int[size];
+            this.orders = new int[size];
+            this.regionCodes = new String[size];
+            for (int i = 0; i < size; i++) {
+                final Object[] range = ranges.get(i);
+                this.begins[i] = (Integer) range[0];
+                this.ends[i] = (Integer) range[1];
+                this.maxEnds[i] = i == 0 ? this.ends[i] : Math.max(this.maxEnds[i - 1], this.ends[i]);
+                this.orders[i] = (Integer) range[2];
+                this.regionCodes[i] = (String) range[3];
+            }
+        }
+
+        public String find(final int value) {
+            // 定位最后一个起始地址不大于指定地址的地址段
+            int low = 0;
+            int high = this.begins.length - 1;
+            int last = -1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (this.begins[mid] <= value) {
+                    last = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            // 向前检查可能包含指定地址的地址段，地址段互不重叠时仅检查一个
+            String regionCode = null;
+            int regionOrder = Integer.MAX_VALUE;
+            for (int i = last; i >= 0 && this.maxEnds[i] >= value; i--) {
+                if (this.ends[i] >= value && this.orders[i] < regionOrder) {
+                    regionCode = this.regionCodes[i];
+                    regionOrder = this.orders[i];
+                }
+            }
+            return regionCode;
+        }
+    }
+
 }
@@ -16,7 +16,7 @@ public interface MessagesSource {
      * @param locale
      *            区域
      *
-     * @return 消息属性映射集
+     * @return 消息属性映射集，不可修改
      */
     Map<String, String> getMessages(Locale locale);
 
@@ -29,7 +29,7 @@ public interface MessagesSource {
      *            消息代码前缀
      * @param resultContainsPrefix
      *            结果集中的key是否包含上述指定前缀
-     * @return 消息属性映射集
+     * @return 消息属性映射集，不可修改
      */
     Map<String, String> getMessages(Locale locale, String prefix, boolean resultContainsPrefix);
 }
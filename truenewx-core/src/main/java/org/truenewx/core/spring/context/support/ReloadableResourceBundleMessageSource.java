@@ -2,20 +2,28 @@ package org.truenewx.core.spring.context.support;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.truenewx.core.spring.context.MessagesSource;
+import org.truenewx.core.spring.core.io.IndexedResourcePatternResolver;
+import org.truenewx.core.util.ConcurrentCache;
 
 /**
- * 基于资源包属性集的消息来源
+ * 基于资源包属性集的消息来源<br>
+ * 每个区域的合并属性集构建一次有序索引，按前缀获取消息时只需定位索引中的范围，结果按前缀缓存；
+ * 资源文件被重新加载后，合并属性集随之变化，索引即重新构建
  *
  * @author jianglei
  * @since JDK 1.8
@@ -25,7 +33,26 @@ public class ReloadableResourceBundleMessageSource
         implements MessagesSource {
 
     private static final String PROPERTIES_SUFFIX = ".properties";
-    private ResourcePatternResolver resourcePatternResolver;
+    /**
+     * 每个区域缓存的前缀消息集的最大个数
+     */
+    private static final int MAX_PREFIX_CACHE_SIZE = 256;
+
+    private ResourcePatternResolver resourcePatternResolver =
+            new PathMatchingResourcePatternResolver();
+    /**
+     * 设置的原始基本名集合
+     */
+    private String[] originalBasenames = new String[0];
+    /**
+     * 解析classpath*:前缀后的基本名集合
+     */
+    private String[] basenames = new String[0];
+    private long cacheMillis = -1;
+    /**
+     * 区域-消息索引的映射集
+     */
+    private final Map<Locale, MessagesIndex> indexes = new ConcurrentHashMap<>();
 
     @Autowired
     public void setResourcePatternResolver(final ResourcePatternResolver resourcePatternResolver) {
@@ -47,12 +74,22 @@ public class ReloadableResourceBundleMessageSource
 
     @Override
     public void setBasenames(final String... basenames) {
+        this.originalBasenames = basenames;
+        resolveBasenames();
+    }
+
+    private void resolveBasenames() {
+        // 资源文件不会过期时，以classpath*:为前缀的基本名从类路径资源索引中查找，避免每个基本名都扫描一次类路径；
+        // 会过期时直接扫描类路径，以免类路径资源索引未刷新而遗漏新增的资源文件
+        final ResourcePatternResolver resolver = this.cacheMillis < 0
+                ? new IndexedResourcePatternResolver(this.resourcePatternResolver)
+                : this.resourcePatternResolver;
         final List<String> list = new ArrayList<>();
-        for (String basename : basenames) {
+        for (String basename : this.originalBasenames) {
             basename = basename.trim();
             if (basename.startsWith(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX)) {
                 try {
-                    final Resource[] resources = this.resourcePatternResolver
+                    final Resource[] resources = resolver
                             .getResources(basename + PROPERTIES_SUFFIX);
                     for (final Resource resource : resources) {
                         String path = resource.getURI().toString();
@@ -66,35 +103,156 @@ public class ReloadableResourceBundleMessageSource
                 list.add(basename);
             }
         }
-        super.setBasenames(list.toArray(new String[list.size()]));
+        this.basenames = list.toArray(new String[list.size()]);
+        super.setBasenames(this.basenames);
     }
 
     @Override
-    public Map<String, String> getMessages(final Locale locale) {
-        final Map<String, String> messages = new TreeMap<>();
+    public void setCacheSeconds(final int cacheSeconds) {
+        super.setCacheSeconds(cacheSeconds);
+        final boolean expirable = this.cacheMillis >= 0;
+        this.cacheMillis = cacheSeconds * 1000L;
+        if (expirable != this.cacheMillis >= 0) { // 是否过期发生变化时，按对应方式重新解析基本名
+            resolveBasenames();
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        this.indexes.clear();
+    }
+
+    /**
+     * 获取指定区域的消息索引，资源文件被重新加载或合并属性集已变化时重新构建
+     *
+     * @param locale
+     *            区域
+     * @return 消息索引
+     */
+    private MessagesIndex getIndex(final Locale locale) {
+        // 会过期的资源文件，由父类按缓存时间检查并在变化时重新加载，重新加载后的属性集为新实例
+        final List<Properties> fileProperties = this.cacheMillis < 0 ? null
+                : getFileProperties(locale);
+        MessagesIndex index = this.indexes.get(locale);
+        if (index != null && fileProperties != null && !index.isBuiltFrom(fileProperties)) {
+            clearCache(); // 父类不会因资源文件重新加载而清除合并属性集，需主动清除
+            index = null;
+        }
         final Properties properties = getMergedProperties(locale).getProperties();
-        for (final Entry<Object, Object> entry : properties.entrySet()) {
-            messages.put(entry.getKey().toString(), entry.getValue().toString());
+        if (index == null || index.properties != properties) {
+            // 并发时可能重复构建，但结果相同，无需同步
+            index = new MessagesIndex(properties, fileProperties);
+            this.indexes.put(locale, index);
         }
-        return messages;
+        return index;
+    }
+
+    /**
+     * 获取指定区域对应的所有资源文件的属性集，不存在的资源文件对应null
+     */
+    private List<Properties> getFileProperties(final Locale locale) {
+        final List<Properties> list = new ArrayList<>();
+        for (final String basename : this.basenames) {
+            for (final String filename : calculateAllFilenames(basename, locale)) {
+                list.add(getProperties(filename).getProperties());
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public Map<String, String> getMessages(final Locale locale) {
+        return getIndex(locale).messages;
     }
 
     @Override
     public Map<String, String> getMessages(final Locale locale, final String prefix,
             final boolean resultContainsPrefix) {
-        final Map<String, String> messages = new TreeMap<>();
-        final int prefixLength = prefix.length();
-        final Properties properties = getMergedProperties(locale).getProperties();
-        for (final Entry<Object, Object> entry : properties.entrySet()) {
-            String key = entry.getKey().toString();
-            if (key.startsWith(prefix)) {
-                if (!resultContainsPrefix) {
-                    key = key.substring(prefixLength);
+        return getIndex(locale).getMessages(prefix, resultContainsPrefix);
+    }
+
+    /**
+     * 消息索引
+     *
+     * @author jianglei
+     * @since JDK 1.8
+     */
+    private static class MessagesIndex {
+        /**
+         * 构建索引的合并属性集，用于判断索引是否过期
+         */
+        private final Properties properties;
+        /**
+         * 构建索引时各资源文件的属性集，为null表示资源文件不会过期
+         */
+        private final List<Properties> fileProperties;
+        private final NavigableMap<String, String> messages;
+        /**
+         * 前缀标识-消息集的缓存
+         */
+        private final ConcurrentCache<String, Map<String, String>> prefixMessages =
+                new ConcurrentCache<>(MAX_PREFIX_CACHE_SIZE);
+
+        public MessagesIndex(final Properties properties,
+                final List<Properties> fileProperties) {
+            this.properties = properties;
+            this.fileProperties = fileProperties;
+            final NavigableMap<String, String> messages = new TreeMap<>();
+            for (final Entry<Object, Object> entry : properties.entrySet()) {
+                messages.put(entry.getKey().toString(), entry.getValue().toString());
+            }
+            this.messages = Collections.unmodifiableNavigableMap(messages);
+        }
+
+        /**
+         * 判断索引是否由指定的各资源文件属性集构建而来
+         */
+        public boolean isBuiltFrom(final List<Properties> fileProperties) {
+            if (this.fileProperties == null
+                    || this.fileProperties.size() != fileProperties.size()) {
+                return false;
+            }
+            for (int i = 0; i < fileProperties.size(); i++) {
+                // 比较实例而不是内容，以免每次都比较全部属性
+                if (this.fileProperties.get(i) != fileProperties.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Map<String, String> getMessages(final String prefix,
+                final boolean resultContainsPrefix) {
+            final String cacheKey = (resultContainsPrefix ? "+" : "-") + prefix;
+            return this.prefixMessages.get(cacheKey, key -> {
+                final NavigableMap<String, String> range = getRange(prefix);
+                if (resultContainsPrefix) {
+                    return Collections.unmodifiableMap(new TreeMap<>(range));
+                }
+                final Map<String, String> result = new TreeMap<>();
+                final int prefixLength = prefix.length();
+                for (final Entry<String, String> entry : range.entrySet()) {
+                    result.put(entry.getKey().substring(prefixLength), entry.getValue());
+                }
+                return Collections.unmodifiableMap(result);
+            });
+        }
+
+        /**
+         * 获取代码以指定前缀开头的消息范围视图
+         */
+        private NavigableMap<String, String> getRange(final String prefix) {
+            // 以前缀开头的代码均小于将前缀中最后一个可递增字符加一并截断其后字符所得的字符串
+            for (int i = prefix.length() - 1; i >= 0; i--) {
+                final char c = prefix.charAt(i);
+                if (c < Character.MAX_VALUE) {
+                    final String upper = prefix.substring(0, i) + (char) (c + 1);
+                    return this.messages.subMap(prefix, true, upper, false);
                 }
-                messages.put(key, entry.getValue().toString());
             }
+            return this.messages.tailMap(prefix, true); // 前缀为空或全部为最大字符
         }
-        return messages;
     }
 
 }
@@ -0,0 +1,537 @@
+package org.truenewx.core.spring.core.io;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.PathMatcher;
+import org.truenewx.core.encrypt.DigestEngine;
+
+/**
+ * 类路径资源索引<br>
+ * 首次查找时并行遍历类加载器中的每个目录和jar包一次，记录其中的所有文件，此后按路径样式查找类路径资源时直接在内存中匹配。
+ * 指定了索引目录时，jar包的索引按类路径指纹持久化，再次启动时未变化的jar包无需重新遍历；目录的内容随时可能变化，每次均重新遍历。
+ * 类加载器中存在无法遍历的位置时，索引不完整，查找结果为null，调用者应改用常规方式扫描
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class ClasspathResourceIndex {
+    /**
+     * 默认索引目录的系统属性名
+     */
+    public static final String INDEX_DIR_PROPERTY = "truenewx.classpath.index.dir";
+
+    private static final String INDEX_FILE_PREFIX = "classpath-";
+    private static final String INDEX_FILE_SUFFIX = ".idx";
+    private static final String JAR_LINE_PREFIX = "\tjar\t";
+    private static final String CLASS_PATH_LINE_PREFIX = "\tcp\t";
+
+    private static final Map<ClassLoader, ClasspathResourceIndex> INSTANCES = new WeakHashMap<>();
+
+    private Logger logger = LoggerFactory.getLogger(getClass());
+    private WeakReference<ClassLoader> classLoader;
+    private File indexDir;
+    private ExecutorService executor;
+    private PathMatcher pathMatcher = new AntPathMatcher();
+    /**
+     * 按类路径顺序排列的根位置清单，为null表示尚未构建
+     */
+    private volatile List<Root> roots;
+    private boolean complete;
+
+    /**
+     * 获取指定类加载器的类路径资源索引，同一个类加载器共享同一个索引
+     *
+     * @param classLoader
+     *            类加载器，为null时使用默认类加载器
+     * @return 类路径资源索引
+     */
+    public static ClasspathResourceIndex getInstance(ClassLoader classLoader) {
+        if (classLoader == null) {
+            classLoader = ClassUtils.getDefaultClassLoader();
+        }
+        synchronized (INSTANCES) {
+            ClasspathResourceIndex index = INSTANCES.get(classLoader);
+            if (index == null) {
+                index = new ClasspathResourceIndex(classLoader);
+                INSTANCES.put(classLoader, index);
+            }
+            return index;
+        }
+    }
+
+    private ClasspathResourceIndex(final ClassLoader classLoader) {
+        this.classLoader = new WeakReference<>(classLoader);
+        final String indexDir = System.getProperty(INDEX_DIR_PROPERTY);
+        if (indexDir != null) {
+            this.indexDir = new File(indexDir);
+        }
+    }
+
+    /**
+     * 需在首次查找前设置
+     *
+     * @param indexDir
+     *            持久化索引的目录，为null时不持久化，默认取系统属性{@value #INDEX_DIR_PROPERTY}
+     */
+    public void setIndexDir(final File indexDir) {
+        this.indexDir = indexDir;
+    }
+
+    /**
+     * @param executor
+     *            遍历类路径的线程池，未指定时构建索引期间临时创建
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * 丢弃已构建的索引，下次查找时重新构建
+     */
+    public synchronized void refresh() {
+        this.roots = null;
+    }
+
+    /**
+     * @return 索引是否覆盖了类加载器中的所有位置
+     */
+    public boolean isComplete() {
+        getRoots();
+        return this.complete;
+    }
+
+    /**
+     * 查找类路径中匹配指定路径样式的资源，相当于以classpath*:为前缀查找
+     *
+     * @param pathPattern
+     *            相对于类路径根的Ant风格路径样式
+     * @return 匹配的资源，索引不完整时返回null
+     * @throws IOException
+     *             如果构建资源出现错误
+     */
+    public Resource[] getResources(String pathPattern) throws IOException {
+        final List<Root> roots = getRoots();
+        if (!this.complete) {
+            return null;
+        }
+        if (pathPattern.startsWith("/")) {
+            pathPattern = pathPattern.substring(1);
+        }
+        final String rootDir = determineRootDir(pathPattern);
+        final boolean exact = rootDir.length() == pathPattern.length();
+        final List<Resource> resources = new ArrayList<>();
+        for (final Root root : roots) {
+            final String[] entries = root.entries;
+            int i = Arrays.binarySearch(entries, rootDir);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            // 只在以固定前缀开头的范围中匹配
+            for (; i < entries.length && entries[i].startsWith(rootDir); i++) {
+                final String entry = entries[i];
+                if (exact ? entry.equals(pathPattern)
+                        : this.pathMatcher.match(pathPattern, entry)) {
+                    resources.add(root.getResource(entry));
+                }
+                if (exact) {
+                    break;
+                }
+            }
+        }
+        return resources.toArray(new Resource[resources.size()]);
+    }
+
+    /**
+     * @return 路径样式中首个通配符之前的目录部分，不含通配符时返回路径样式本身
+     */
+    private String determineRootDir(final String pathPattern) {
+        for (int i = 0; i < pathPattern.length(); i++) {
+            final char c = pathPattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return pathPattern.substring(0, pathPattern.lastIndexOf('/', i) + 1);
+            }
+        }
+        return pathPattern;
+    }
+
+    private List<Root> getRoots() {
+        List<Root> roots = this.roots;
+        if (roots == null) {
+            synchronized (this) {
+                roots = this.roots;
+                if (roots == null) {
+                    roots = build();
+                    this.roots = roots;
+                }
+            }
+        }
+        return roots;
+    }
+
+    private List<Root> build() {
+        final long startTime = System.currentTimeMillis();
+        this.complete = true;
+        final Set<File> locations = getLocations();
+        final File indexFile = getIndexFile(locations);
+        final Map<String, Root> cachedRoots = readIndexFile(indexFile);
+        final Map<File, Root> scannedRoots = new HashMap<>();
+        boolean indexChanged = false;
+        final ExecutorService executor = this.executor == null ? Executors.newFixedThreadPool(
+                Math.max(1, Runtime.getRuntime().availableProcessors())) : this.executor;
+        try {
+            // 逐轮并行遍历，jar包清单中引用的其它jar包在下一轮遍历
+            Set<File> pending = locations;
+            while (!pending.isEmpty()) {
+                final Map<File, Future<Root>> futures = new HashMap<>();
+                for (final File location : pending) {
+                    final Root cached = cachedRoots.get(location.getPath());
+                    if (cached != null && cached.isUpToDate(location)) {
+                        scannedRoots.put(location, cached);
+                    } else {
+                        futures.put(location, executor.submit(() -> scan(location)));
+                    }
+                }
+                for (final Entry<File, Future<Root>> entry : futures.entrySet()) {
+                    final Root root = entry.getValue().get();
+                    scannedRoots.put(entry.getKey(), root);
+                    indexChanged |= root.jar;
+                }
+                final Set<File> next = new LinkedHashSet<>();
+                for (final File location : pending) {
+                    for (final File classPath : scannedRoots.get(location).classPath) {
+                        if (!scannedRoots.containsKey(classPath)) {
+                            next.add(classPath);
+                        }
+                    }
+                }
+                pending = next;
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            this.logger.warn("Failed to index classpath, fall back to scanning: {}", e.toString());
+            this.complete = false;
+            return Collections.emptyList();
+        } finally {
+            if (executor != this.executor) {
+                executor.shutdown();
+            }
+        }
+
+        final List<Root> roots = new ArrayList<>();
+        final Set<File> added = new LinkedHashSet<>();
+        for (final File location : locations) {
+            addRoot(roots, added, location, scannedRoots);
+        }
+        int entryCount = 0;
+        int jarCount = 0;
+        for (final Root root : roots) {
+            entryCount += root.entries.length;
+            if (root.jar) {
+                jarCount++;
+            }
+        }
+        // 有jar包重新遍历过或已不在类路径中时才需重写索引文件
+        if (indexFile != null && (indexChanged || jarCount != cachedRoots.size())) {
+            writeIndexFile(indexFile, roots);
+        }
+        this.logger.info("Indexed {} classpath entries in {} locations in {}ms", entryCount,
+                roots.size(), System.currentTimeMillis() - startTime);
+        return roots;
+    }
+
+    /**
+     * 按类路径顺序加入根位置，jar包清单中引用的jar包紧随其后
+     */
+    private void addRoot(final List<Root> roots, final Set<File> added, final File location,
+            final Map<File, Root> scannedRoots) {
+        if (added.add(location)) {
+            final Root root = scannedRoots.get(location);
+            roots.add(root);
+            for (final File classPath : root.classPath) {
+                addRoot(roots, added, classPath, scannedRoots);
+            }
+        }
+    }
+
+    /**
+     * 获取类加载器及其祖先中的所有位置，祖先在前。存在无法遍历的位置时将索引标记为不完整
+     */
+    private Set<File> getLocations() {
+        final List<ClassLoader> loaders = new ArrayList<>();
+        for (ClassLoader loader = this.classLoader.get(); loader != null; loader = loader
+                .getParent()) {
+            loaders.add(0, loader);
+        }
+        final ClassLoader systemLoader = ClassLoader.getSystemClassLoader();
+        final Set<File> locations = new LinkedHashSet<>();
+        for (final ClassLoader loader : loaders) {
+            if (loader instanceof URLClassLoader) {
+                for (final URL url : ((URLClassLoader) loader).getURLs()) {
+                    addLocation(locations, url);
+                }
+            } else if (loader == systemLoader) { // JDK 9以上的系统类加载器
+                for (final String path : System.getProperty("java.class.path")
+                        .split(File.pathSeparator)) {
+                    if (path.length() > 0) {
+                        locations.add(new File(path).getAbsoluteFile());
+                    }
+                }
+            } else if (loader != systemLoader.getParent()) { // 平台类加载器中只有JDK自身的类
+                this.complete = false;
+            }
+        }
+        return locations;
+    }
+
+    private void addLocation(final Set<File> locations, final URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                locations.add(new File(url.toURI()));
+                return;
+            } catch (final URISyntaxException | IllegalArgumentException e) {
+                this.logger.warn("Unsupported classpath location: {}", url);
+            }
+        }
+        this.complete = false;
+    }
+
+    private Root scan(final File location) throws IOException {
+        if (location.isDirectory()) {
+            final Path base = location.toPath();
+            final List<String> entries = new ArrayList<>();
+            try (Stream<Path> paths = Files.walk(base)) {
+                paths.filter(Files::isRegularFile).forEach(path -> {
+                    entries.add(base.relativize(path).toString().replace(File.separatorChar, '/'));
+                });
+            }
+            return new Root(location, false, 0, 0, entries, Collections.emptyList());
+        } else if (location.isFile()) {
+            final List<String> entries = new ArrayList<>();
+            final List<File> classPath = new ArrayList<>();
+            try (JarFile jarFile = new JarFile(location)) {
+                final Enumeration<JarEntry> jarEntries = jarFile.entries();
+                while (jarEntries.hasMoreElements()) {
+                    final JarEntry jarEntry = jarEntries.nextElement();
+                    if (!jarEntry.isDirectory()) {
+                        entries.add(jarEntry.getName());
+                    }
+                }
+                final Manifest manifest = jarFile.getManifest();
+                if (manifest != null) {
+                    final String value = manifest.getMainAttributes()
+                            .getValue(Attributes.Name.CLASS_PATH);
+                    if (value != null) {
+                        final URL base = location.toURI().toURL();
+                        for (final String path : value.trim().split("\\s+")) {
+                            if (path.length() > 0) {
+                                final URL url = new URL(base, path);
+                                if ("file".equals(url.getProtocol())) {
+                                    final File file = new File(url.toURI());
+                                    if (file.exists()) {
+                                        classPath.add(file);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            } catch (final URISyntaxException e) {
+                throw new IOException(e);
+            }
+            return new Root(location, true, location.length(), location.lastModified(), entries,
+                    classPath);
+        }
+        // 不存在的位置
+        return new Root(location, false, 0, 0, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * @return 以类路径指纹命名的索引文件，未指定索引目录时返回null
+     */
+    private File getIndexFile(final Set<File> locations) {
+        if (this.indexDir == null) {
+            return null;
+        }
+        final StringBuilder classpath = new StringBuilder();
+        for (final File location : locations) {
+            classpath.append(location.getPath()).append(File.pathSeparatorChar);
+        }
+        final String fingerprint = DigestEngine
+                .md5Hex(classpath.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 12);
+        return new File(this.indexDir, INDEX_FILE_PREFIX + fingerprint + INDEX_FILE_SUFFIX);
+    }
+
+    /**
+     * 读取索引文件中的jar包索引
+     *
+     * @return jar包路径-根位置的映射集
+     */
+    private Map<String, Root> readIndexFile(final File indexFile) {
+        final Map<String, Root> roots = new HashMap<>();
+        if (indexFile != null && indexFile.exists()) {
+            try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(),
+                    StandardCharsets.UTF_8)) {
+                String[] header = null; // 长度、修改时间、路径
+                final List<String> entries = new ArrayList<>();
+                final List<File> classPath = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(JAR_LINE_PREFIX)) {
+                        addCachedRoot(roots, header, entries, classPath);
+                        header = line.substring(JAR_LINE_PREFIX.length()).split("\t", 3);
+                    } else if (line.startsWith(CLASS_PATH_LINE_PREFIX)) {
+                        classPath.add(new File(line.substring(CLASS_PATH_LINE_PREFIX.length())));
+                    } else {
+                        entries.add(line);
+                    }
+                }
+                addCachedRoot(roots, header, entries, classPath);
+            } catch (final IOException | RuntimeException e) {
+                this.logger.warn("Ignored invalid classpath index file {}: {}", indexFile,
+                        e.toString());
+                roots.clear();
+            }
+        }
+        return roots;
+    }
+
+    private void addCachedRoot(final Map<String, Root> roots, final String[] header,
+            final List<String> entries, final List<File> classPath) {
+        if (header != null) {
+            final File location = new File(header[2]);
+            roots.put(location.getPath(), new Root(location, true, Long.parseLong(header[0]),
+                    Long.parseLong(header[1]), entries, new ArrayList<>(classPath)));
+        }
+        entries.clear();
+        classPath.clear();
+    }
+
+    /**
+     * 将jar包索引写入索引文件，并删除其它类路径的过期索引文件
+     */
+    private void writeIndexFile(final File indexFile, final List<Root> roots) {
+        try {
+            this.indexDir.mkdirs();
+            final File tempFile = new File(this.indexDir, indexFile.getName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(),
+                    StandardCharsets.UTF_8)) {
+                for (final Root root : roots) {
+                    if (root.jar) {
+                        writer.write(JAR_LINE_PREFIX + root.length + "\t" + root.lastModified
+                                + "\t" + root.location.getPath());
+                        writer.newLine();
+                        for (final File classPath : root.classPath) {
+                            writer.write(CLASS_PATH_LINE_PREFIX + classPath.getPath());
+                            writer.newLine();
+                        }
+                        for (final String entry : root.entries) {
+                            writer.write(entry);
+                            writer.newLine();
+                        }
+                    }
+                }
+            }
+            Files.move(tempFile.toPath(), indexFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            final File[] files = this.indexDir.listFiles((dir, name) -> {
+                return name.startsWith(INDEX_FILE_PREFIX) && name.endsWith(INDEX_FILE_SUFFIX);
+            });
+            if (files != null) {
+                for (final File file : files) {
+                    if (!file.equals(indexFile)) {
+                        file.delete();
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            this.logger.warn("Failed to write classpath index file {}: {}", indexFile,
+                    e.toString());
+        }
+    }
+
+    /**
+     * 类路径中的根位置，即一个目录或jar包
+     *
+     * @author jianglei
+     * @since JDK 1.8
+     */
+    private static class Root {
+        private final File location;
+        private final boolean jar;
+        private final long length;
+        private final long lastModified;
+        /**
+         * 有序的文件相对路径清单
+         */
+        private final String[] entries;
+        /**
+         * jar包清单中引用的其它位置
+         */
+        private final List<File> classPath;
+        private String jarUrl;
+
+        public Root(final File location, final boolean jar, final long length,
+                final long lastModified, final List<String> entries, final List<File> classPath) {
+            this.location = location;
+            this.jar = jar;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.entries = entries.toArray(new String[entries.size()]);
+            Arrays.sort(this.entries);
+            this.classPath = classPath;
+        }
+
+        public boolean isUpToDate(final File location) {
+            return this.jar && location.isFile() && location.length() == this.length
+                    && location.lastModified() == this.lastModified;
+        }
+
+        public Resource getResource(final String entry) throws IOException {
+            if (this.jar) {
+                if (this.jarUrl == null) {
+                    this.jarUrl = "jar:" + this.location.toURI().toURL() + "!/";
+                }
+                return new UrlResource(this.jarUrl + entry);
+            }
+            return new FileSystemResource(new File(this.location, entry));
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package org.truenewx.core.spring.core.io;
+
+import java.io.IOException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.Assert;
+
+/**
+ * 基于类路径资源索引的资源样式解决器<br>
+ * 以classpath*:为前缀的路径样式从{@link ClasspathResourceIndex}中查找，索引不完整时及其它路径交由被代理的解决器处理
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class IndexedResourcePatternResolver implements ResourcePatternResolver {
+
+    private ResourcePatternResolver delegate;
+    private ClasspathResourceIndex index;
+
+    public IndexedResourcePatternResolver() {
+        this(new PathMatchingResourcePatternResolver());
+    }
+
+    /**
+     *
+     * @param delegate
+     *            被代理的资源样式解决器
+     */
+    public IndexedResourcePatternResolver(final ResourcePatternResolver delegate) {
+        Assert.notNull(delegate);
+        this.delegate = delegate;
+        this.index = ClasspathResourceIndex.getInstance(delegate.getClassLoader());
+    }
+
+    @Override
+    public Resource[] getResources(final String locationPattern) throws IOException {
+        if (locationPattern.startsWith(CLASSPATH_ALL_URL_PREFIX)) {
+            final Resource[] resources = this.index
+                    .getResources(locationPattern.substring(CLASSPATH_ALL_URL_PREFIX.length()));
+            if (resources != null) {
+                return resources;
+            }
+        }
+        return this.delegate.getResources(locationPattern);
+    }
+
+    @Override
+    public Resource getResource(final String location) {
+        return this.delegate.getResource(location);
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return this.delegate.getClassLoader();
+    }
+
+}
@@ -6,12 +6,12 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.util.ClassUtils;
 
 /**
- * 包资源扫描器，扫描指定包及其子包，查找满足指定文件名样式的文件资源
+ * 包资源扫描器，扫描指定包及其子包，查找满足指定文件名样式的文件资源。<br>
+ * 通过{@link ClasspathResourceIndex}在内存中查找，类路径只在首次扫描时遍历一次
  *
  * @author jianglei
  * @since JDK 1.8
@@ -22,7 +22,7 @@ public class PackageResourceScaner {
 
     private Logger logger = LoggerFactory.getLogger(getClass());
 
-    private ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+    private ResourcePatternResolver resourcePatternResolver = new IndexedResourcePatternResolver();
 
     private PackageResourceScaner() {
     }
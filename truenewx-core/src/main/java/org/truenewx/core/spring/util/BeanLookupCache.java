@@ -0,0 +1,131 @@
+package org.truenewx.core.spring.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * 按类型查找bean的结果缓存，每个Spring容器上下文一个实例。<br>
+ * 缓存的是查找到的bean所在容器和bean名称，而非bean本身，以兼容非单例bean；未找到的结果同样缓存。<br>
+ * 容器刷新或关闭时自动清空对应缓存
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+class BeanLookupCache implements ApplicationListener<ApplicationContextEvent> {
+
+    private static final Map<ApplicationContext, BeanLookupCache> CACHES = new ConcurrentHashMap<>();
+
+    /**
+     * 未找到bean的查找结果标记
+     */
+    private static final Entry MISSING = new Entry(null, null);
+
+    private ApplicationContext context;
+    private Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+    private Map<List<Class<?>>, Entry> exclusiveEntries = new ConcurrentHashMap<>();
+
+    private BeanLookupCache(final ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 获取指定容器上下文的查找缓存
+     *
+     * @param context
+     *            容器上下文
+     * @return 查找缓存，如果指定容器上下文无法监听刷新和关闭事件，或尚未激活，则返回null
+     */
+    public static BeanLookupCache of(final ApplicationContext context) {
+        BeanLookupCache cache = CACHES.get(context);
+        if (cache == null && context instanceof ConfigurableApplicationContext) {
+            final ConfigurableApplicationContext configurableContext = (ConfigurableApplicationContext) context;
+            if (configurableContext.isActive()) {
+                synchronized (CACHES) {
+                    cache = CACHES.get(context);
+                    if (cache == null) {
+                        cache = new BeanLookupCache(context);
+                        configurableContext.addApplicationListener(cache);
+                        CACHES.put(context, cache);
+                    }
+                }
+            }
+        }
+        return cache;
+    }
+
+    public Entry get(final Class<?> beanClass, final Class<?>... exclusiveClasses) {
+        if (exclusiveClasses.length == 0) {
+            return this.entries.get(beanClass);
+        }
+        return this.exclusiveEntries.get(toKey(beanClass, exclusiveClasses));
+    }
+
+    public void put(final Entry entry, final Class<?> beanClass,
+            final Class<?>... exclusiveClasses) {
+        final Entry value = entry == null ? MISSING : entry;
+        if (exclusiveClasses.length == 0) {
+            this.entries.put(beanClass, value);
+        } else {
+            this.exclusiveEntries.put(toKey(beanClass, exclusiveClasses), value);
+        }
+    }
+
+    private List<Class<?>> toKey(final Class<?> beanClass, final Class<?>[] exclusiveClasses) {
+        final Class<?>[] key = new Class<?>[exclusiveClasses.length + 1];
+        key[0] = beanClass;
+        System.arraycopy(exclusiveClasses, 0, key, 1, exclusiveClasses.length);
+        return Arrays.asList(key);
+    }
+
+    @Override
+    public void onApplicationEvent(final ApplicationContextEvent event) {
+        // 子容器的事件也会传播到父容器，只处理本容器的事件
+        if (event.getApplicationContext() == this.context) {
+            if (event instanceof ContextRefreshedEvent) {
+                this.entries.clear();
+                this.exclusiveEntries.clear();
+            } else if (event instanceof ContextClosedEvent) {
+                CACHES.remove(this.context);
+                this.entries.clear();
+                this.exclusiveEntries.clear();
+            }
+        }
+    }
+
+    /**
+     * 查找结果条目
+     */
+    public static class Entry {
+        private ApplicationContext context;
+        private String beanName;
+
+        public Entry(final ApplicationContext context, final String beanName) {
+            this.context = context;
+            this.beanName = beanName;
+        }
+
+        /**
+         * 获取条目对应的bean
+         *
+         * @param beanClass
+         *            bean类型
+         * @return bean对象，未找到时返回null
+         */
+        public <T> T getBean(final Class<T> beanClass) {
+            if (this.beanName == null) {
+                return null;
+            }
+            return this.context.getBean(this.beanName, beanClass);
+        }
+    }
+
+}
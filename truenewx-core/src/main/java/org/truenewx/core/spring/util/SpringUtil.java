@@ -30,6 +30,9 @@ public class SpringUtil {
     @SuppressWarnings("unchecked")
     @Nullable
     public static <T> T getBeanByName(final ApplicationContext context, final String beanName) {
+        if (!context.containsBean(beanName)) {
+            return null;
+        }
         try {
             return (T) context.getBean(beanName);
         } catch (final BeansException e) {
@@ -48,9 +51,13 @@ public class SpringUtil {
      */
     public static <T> T getBeanByDefaultName(final ApplicationContext context,
                     final Class<T> beanClass) {
+        final String beanName = StringUtil.firstToLowerCase(beanClass.getSimpleName());
+        // 先行判断，避免以异常作为未找到时的流程控制
+        if (!context.containsBean(beanName) || !context.isTypeMatch(beanName, beanClass)) {
+            return null;
+        }
         try {
-            return context.getBean(StringUtil.firstToLowerCase(beanClass.getSimpleName()),
-                            beanClass);
+            return context.getBean(beanName, beanClass);
         } catch (final BeansException e) {
             return null;
         }
@@ -58,7 +65,8 @@ public class SpringUtil {
 
     /**
      * 从Spring容器上下文中获取指定类型的第一个bean，优先获取bean名称为默认命名规则下的名称的bean， 如果没有则获取Spring容器中默认顺序下的第一个bean。
-     * 该方法一般用于在确知Spring容器中只有一个指定类型的bean，或不关心指定类型实现时
+     * 该方法一般用于在确知Spring容器中只有一个指定类型的bean，或不关心指定类型实现时。<br>
+     * 查找结果按容器上下文缓存，容器刷新或关闭时失效
      *
      * @param context
      *            Spring容器上下文
@@ -73,18 +81,41 @@ public class SpringUtil {
         if (context == null) {
             return null;
         }
-        final T bean = getBeanByDefaultName(context, beanClass);
-        if (bean != null && !ArrayUtils.contains(exclusiveClasses, bean.getClass())) {
-            return bean;
+        final BeanLookupCache cache = BeanLookupCache.of(context);
+        if (cache == null) {
+            final BeanLookupCache.Entry entry = findFirstBeanEntry(context, beanClass,
+                    exclusiveClasses);
+            return entry == null ? null : entry.getBean(beanClass);
+        }
+        BeanLookupCache.Entry entry = cache.get(beanClass, exclusiveClasses);
+        if (entry == null) {
+            entry = findFirstBeanEntry(context, beanClass, exclusiveClasses);
+            cache.put(entry, beanClass, exclusiveClasses);
+            if (entry == null) {
+                return null;
+            }
+        }
+        return entry.getBean(beanClass);
+    }
+
+    private static BeanLookupCache.Entry findFirstBeanEntry(final ApplicationContext context,
+            final Class<?> beanClass, final Class<?>... exclusiveClasses) {
+        if (context == null) {
+            return null;
+        }
+        final String defaultBeanName = StringUtil.firstToLowerCase(beanClass.getSimpleName());
+        if (context.containsBean(defaultBeanName)
+                && context.isTypeMatch(defaultBeanName, beanClass)
+                && !ArrayUtils.contains(exclusiveClasses, context.getType(defaultBeanName))) {
+            return new BeanLookupCache.Entry(context, defaultBeanName);
         }
         final String[] beanNames = context.getBeanNamesForType(beanClass);
         for (final String beanName : beanNames) {
-            final T obj = context.getBean(beanName, beanClass);
-            if (!ArrayUtils.contains(exclusiveClasses, obj.getClass())) {
-                return obj;
+            if (!ArrayUtils.contains(exclusiveClasses, context.getType(beanName))) {
+                return new BeanLookupCache.Entry(context, beanName);
             }
         }
-        return getFirstBeanByClass(context.getParent(), beanClass, exclusiveClasses);
+        return findFirstBeanEntry(context.getParent(), beanClass, exclusiveClasses);
     }
 
 }
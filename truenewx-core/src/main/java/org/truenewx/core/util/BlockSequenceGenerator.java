@@ -0,0 +1,151 @@
+package org.truenewx.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * 块分配序列号生成器<br>
+ * 每次从{@link SequenceStore}中预留一块连续的序列号，块内的序列号通过原子计数无锁分配，
+ * 仅在当前块耗尽时由一个线程向存储申请新块。重启或多节点时各自预留的块互不重叠，
+ * 因此序列号全局唯一且在单个节点内递增，但未用完的块将被跳过，序列号不保证连续
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class BlockSequenceGenerator implements SequenceGenerator {
+
+    private final String name;
+    private final SequenceStore store;
+    private final int blockSize;
+    private volatile Block block = new Block(0, 0);
+
+    private final LongAdder refillCount = new LongAdder();
+    private final LongAdder refillNanos = new LongAdder();
+
+    /**
+     *
+     * @param name
+     *            序列名称
+     * @param store
+     *            序列号存储
+     * @param blockSize
+     *            每次预留的序列号个数
+     */
+    public BlockSequenceGenerator(final String name, final SequenceStore store,
+            final int blockSize) {
+        Assert.notNull(name);
+        Assert.notNull(store);
+        Assert.isTrue(blockSize > 0, "blockSize must be >0");
+        this.name = name;
+        this.store = store;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * 以每块1000个序列号构建
+     *
+     * @param name
+     *            序列名称
+     * @param store
+     *            序列号存储
+     */
+    public BlockSequenceGenerator(final String name, final SequenceStore store) {
+        this(name, store, 1000);
+    }
+
+    @Override
+    public long next() {
+        while (true) {
+            final Block block = this.block;
+            final long id = block.cursor.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            refill(block, this.blockSize);
+        }
+    }
+
+    @Override
+    public long[] next(final int count) {
+        Assert.isTrue(count >= 0, "count must be >=0");
+        final long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            final Block block = this.block;
+            final int wanted = count - filled;
+            final long first = block.cursor.getAndAdd(wanted);
+            if (first < block.end) {
+                final long last = Math.min(first + wanted, block.end);
+                for (long id = first; id < last; id++) {
+                    ids[filled++] = id;
+                }
+            }
+            if (filled < count) { // 批量较大时一次预留足够的序列号
+                refill(block, Math.max(this.blockSize, count - filled));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 当前块仍为指定的已耗尽块时，向存储申请新块；其它线程已替换当前块时直接返回
+     */
+    private synchronized void refill(final Block exhausted, final int size) {
+        if (this.block == exhausted) {
+            final long startTime = System.nanoTime();
+            final long first = this.store.allocate(this.name, size);
+            this.block = new Block(first, first + size);
+            this.refillCount.increment();
+            this.refillNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     *
+     * @return 序列名称
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     *
+     * @return 向存储申请新块的次数
+     */
+    public long getRefillCount() {
+        return this.refillCount.sum();
+    }
+
+    /**
+     *
+     * @return 向存储申请新块的累计耗时（毫秒）
+     */
+    public long getRefillTime() {
+        return this.refillNanos.sum() / 1000000;
+    }
+
+    /**
+     *
+     * @return 当前块中剩余可分配的序列号个数
+     */
+    public long getRemaining() {
+        final Block block = this.block;
+        return Math.max(0, block.end - block.cursor.get());
+    }
+
+    private static class Block {
+        private final AtomicLong cursor;
+        /**
+         * 块的结束序列号（不包含）
+         */
+        private final long end;
+
+        public Block(final long first, final long end) {
+            this.cursor = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+}
@@ -0,0 +1,415 @@
+package org.truenewx.core.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 有容量限制的并发缓存。<br>
+ * 按关键字的哈希值分段加锁，每段为按访问顺序排列的{@link LinkedHashMap}，读写和淘汰均为O(1)，淘汰策略为分段近似LRU；
+ * 可指定条目权重函数以按权重而非数量限制容量，可指定写入后的存活时间；
+ * {@link #get(Object, Function)}对同一关键字的并发加载只执行一次，其它线程等待该次加载的结果。<br>
+ * 缓存不保存null值
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ * @param <K>
+ *            关键字类型
+ * @param <V>
+ *            值类型
+ */
+public class ConcurrentCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final ToIntFunction<? super V> weigher;
+    private final long ttlNanos;
+    /**
+     * 正在加载的关键字-加载结果的映射集
+     */
+    private final Map<K, CompletableFuture<V>> loadings = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     *
+     * @param maxSize
+     *            最大条目数
+     */
+    public ConcurrentCache(final int maxSize) {
+        this(maxSize, null, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *
+     * @param maxSize
+     *            最大条目数
+     * @param ttl
+     *            条目写入后的存活时间，不大于0表示永久有效
+     * @param unit
+     *            存活时间单位
+     */
+    public ConcurrentCache(final int maxSize, final long ttl, final TimeUnit unit) {
+        this(maxSize, null, ttl, unit);
+    }
+
+    /**
+     *
+     * @param maxWeight
+     *            最大总权重，未指定权重函数时即为最大条目数
+     * @param weigher
+     *            条目权重函数，为null时每个条目的权重均为1
+     * @param ttl
+     *            条目写入后的存活时间，不大于0表示永久有效
+     * @param unit
+     *            存活时间单位
+     */
+    public ConcurrentCache(final long maxWeight, final ToIntFunction<? super V> weigher,
+            final long ttl, final TimeUnit unit) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be >0");
+        }
+        // 段数为不超过最大权重的2的幂，以保证每段至少能容纳一个条目
+        int segmentCount = 1;
+        while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxWeight) {
+            segmentCount *= 2;
+        }
+        // 总权重均分到各段，余数分给前面的段，使各段最大权重之和恰为最大总权重
+        final long segmentMaxWeight = maxWeight / segmentCount;
+        final long remainder = maxWeight % segmentCount;
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        final Segment<K, V>[] segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentMaxWeight + (i < remainder ? 1 : 0));
+        }
+        this.segments = segments;
+        this.segmentMask = segmentCount - 1;
+        this.weigher = weigher;
+        this.ttlNanos = ttl > 0 ? unit.toNanos(ttl) : 0;
+    }
+
+    private Segment<K, V> segmentFor(final Object key) {
+        final int h = key.hashCode();
+        return this.segments[(h ^ (h >>> 16)) & this.segmentMask];
+    }
+
+    /**
+     * 获取指定关键字对应的值
+     *
+     * @param key
+     *            关键字
+     * @return 值，不存在或已过期时返回null
+     */
+    public V get(final K key) {
+        final V value = segmentFor(key).get(key, System.nanoTime());
+        if (value == null) {
+            this.missCount.increment();
+        } else {
+            this.hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 获取指定关键字对应的值，不存在时以指定加载函数加载并缓存。同一关键字同时只有一个线程执行加载
+     *
+     * @param key
+     *            关键字
+     * @param loader
+     *            加载函数，返回null时不缓存
+     * @return 值
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        final CompletableFuture<V> loading = this.loadings.putIfAbsent(key, future);
+        if (loading != null) { // 其它线程正在加载，等待其结果
+            return await(loading);
+        }
+        try {
+            // 可能在本线程未命中后、登记加载前，其它线程刚完成加载
+            value = segmentFor(key).get(key, System.nanoTime());
+            if (value == null) {
+                value = loader.apply(key);
+                this.loadCount.increment();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            this.loadFailureCount.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loadings.remove(key, future);
+        }
+    }
+
+    private V await(final CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * 缓存指定值，超出容量时淘汰所在段中最久未访问的条目
+     *
+     * @param key
+     *            关键字
+     * @param value
+     *            值，为null时移除指定关键字对应的条目
+     */
+    public void put(final K key, final V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        final int weight = this.weigher == null ? 1 : this.weigher.applyAsInt(value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("weight must be >=0");
+        }
+        final long expiredTime = this.ttlNanos > 0 ? System.nanoTime() + this.ttlNanos : 0;
+        final int evicted = segmentFor(key).put(key, value, weight, expiredTime);
+        if (evicted > 0) {
+            this.evictionCount.add(evicted);
+        }
+    }
+
+    /**
+     * 移除指定关键字对应的条目
+     *
+     * @param key
+     *            关键字
+     * @return 被移除的值，不存在时返回null
+     */
+    public V remove(final K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (final Segment<K, V> segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     *
+     * @return 当前条目数，包含已过期但尚未清理的条目
+     */
+    public int size() {
+        int size = 0;
+        for (final Segment<K, V> segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     *
+     * @return 统计数据快照
+     */
+    public Stats getStats() {
+        return new Stats(this.hitCount.sum(), this.missCount.sum(), this.loadCount.sum(),
+                this.loadFailureCount.sum(), this.evictionCount.sum());
+    }
+
+    private static class Segment<K, V> extends ReentrantLock {
+        private static final long serialVersionUID = -1395315475418493315L;
+
+        private final long maxWeight;
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        public Segment(final long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public V get(final Object key, final long now) {
+            lock();
+            try {
+                final Entry<V> entry = this.map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired(now)) {
+                    this.map.remove(key);
+                    this.weight -= entry.weight;
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * @return 被淘汰的条目数
+         */
+        public int put(final K key, final V value, final int weight, final long expiredTime) {
+            lock();
+            try {
+                final Entry<V> old = this.map.put(key, new Entry<>(value, weight, expiredTime));
+                this.weight += weight;
+                if (old != null) {
+                    this.weight -= old.weight;
+                }
+                int evicted = 0;
+                // 至少保留刚写入的条目
+                final Iterator<Entry<V>> iterator = this.map.values().iterator();
+                while (this.weight > this.maxWeight && this.map.size() > 1) {
+                    final Entry<V> eldest = iterator.next();
+                    iterator.remove();
+                    this.weight -= eldest.weight;
+                    evicted++;
+                }
+                return evicted;
+            } finally {
+                unlock();
+            }
+        }
+
+        public V remove(final Object key) {
+            lock();
+            try {
+                final Entry<V> entry = this.map.remove(key);
+                if (entry == null) {
+                    return null;
+                }
+                this.weight -= entry.weight;
+                return entry.value;
+            } finally {
+                unlock();
+            }
+        }
+
+        public void clear() {
+            lock();
+            try {
+                this.map.clear();
+                this.weight = 0;
+            } finally {
+                unlock();
+            }
+        }
+
+        public int size() {
+            lock();
+            try {
+                return this.map.size();
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final int weight;
+        /**
+         * 过期时刻（纳秒），为0表示永不过期
+         */
+        private final long expiredTime;
+
+        public Entry(final V value, final int weight, final long expiredTime) {
+            this.value = value;
+            this.weight = weight;
+            this.expiredTime = expiredTime;
+        }
+
+        public boolean isExpired(final long now) {
+            return this.expiredTime != 0 && now - this.expiredTime >= 0;
+        }
+    }
+
+    /**
+     * 缓存统计数据
+     */
+    public static class Stats {
+        private final long hitCount;
+        private final long missCount;
+        private final long loadCount;
+        private final long loadFailureCount;
+        private final long evictionCount;
+
+        private Stats(final long hitCount, final long missCount, final long loadCount,
+                final long loadFailureCount, final long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.loadFailureCount = loadFailureCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long getHitCount() {
+            return this.hitCount;
+        }
+
+        public long getMissCount() {
+            return this.missCount;
+        }
+
+        public long getLoadCount() {
+            return this.loadCount;
+        }
+
+        public long getLoadFailureCount() {
+            return this.loadFailureCount;
+        }
+
+        public long getEvictionCount() {
+            return this.evictionCount;
+        }
+
+        /**
+         *
+         * @return 命中率，没有任何访问时为1
+         */
+        public double getHitRate() {
+            final long requestCount = this.hitCount + this.missCount;
+            return requestCount == 0 ? 1 : (double) this.hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + this.hitCount + ", misses=" + this.missCount + ", loads="
+                    + this.loadCount + ", loadFailures=" + this.loadFailureCount + ", evictions="
+                    + this.evictionCount;
+        }
+    }
+
+}
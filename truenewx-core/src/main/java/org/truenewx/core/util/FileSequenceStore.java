@@ -0,0 +1,56 @@
+package org.truenewx.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.Assert;
+
+/**
+ * 基于文件的序列号存储<br>
+ * 每个序列对应指定目录下的一个文件，文件内容为已分配的最大序列号。
+ * 分配时对文件加排它锁，可供同一主机上的多个进程共享
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class FileSequenceStore implements SequenceStore {
+
+    private File dir;
+
+    /**
+     *
+     * @param dir
+     *            存放序列文件的目录
+     */
+    public FileSequenceStore(final File dir) {
+        Assert.notNull(dir);
+        this.dir = dir;
+    }
+
+    @Override
+    public synchronized long allocate(final String name, final int size) {
+        this.dir.mkdirs();
+        final File file = new File(this.dir, name + ".seq");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                FileChannel channel = raf.getChannel()) {
+            channel.lock(); // 关闭通道时释放锁
+            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            channel.read(buffer, 0);
+            final String content = new String(buffer.array(), StandardCharsets.UTF_8).trim();
+            final long allocated = content.isEmpty() ? 0 : Long.parseLong(content);
+            final byte[] bytes = String.valueOf(allocated + size).getBytes(StandardCharsets.UTF_8);
+            // 先覆盖写入并落盘再截断，避免中途崩溃时留下空文件导致序列号重复
+            channel.write(ByteBuffer.wrap(bytes), 0);
+            channel.force(true);
+            channel.truncate(bytes.length);
+            return allocated + 1;
+        } catch (final IOException e) {
+            throw new IllegalStateException("Failed to allocate sequence " + name, e);
+        }
+    }
+
+}
@@ -4,41 +4,30 @@ import java.awt.Component;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.MediaTracker;
-import java.awt.Rectangle;
-import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
 import javax.imageio.ImageIO;
-import javax.imageio.ImageReadParam;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.util.Assert;
 import org.springframework.util.FileCopyUtils;
-import org.springframework.util.ResourceUtils;
 import org.truenewx.core.Strings;
+import org.truenewx.core.io.I18nResourceIndex;
+import org.truenewx.core.io.TextContentReplaceConverter;
 
 /**
  * IO工具类
@@ -191,7 +180,7 @@ public class IOUtil {
     }
 
     /**
-     * 替换指定文件指定内容
+     * 替换指定文件指定内容，一遍扫描完成替换，没有需替换的内容时不改写文件
      *
      * @param filePath
      *            被修改文件路径
@@ -202,41 +191,12 @@ public class IOUtil {
      */
     public static void replaceFileContent(final String filePath, final String regex,
             final String replacement) {
-        BufferedReader br = null;
-        String line = "";
-        final StringBuffer sb = new StringBuffer();
+        final TextContentReplaceConverter converter = new TextContentReplaceConverter(
+                Collections.singletonMap(regex, replacement));
         try {
-            br = new BufferedReader(new FileReader(filePath));
-            while ((line = br.readLine()) != null) {
-                sb.append(line);
-                sb.append("\r\n");
-            }
-        } catch (final Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (br != null) {
-                try {
-                    br.close();
-                } catch (final IOException e) {
-                    br = null;
-                }
-            }
-        }
-        final String s = sb.toString().replaceAll(regex, replacement);
-        BufferedWriter bw = null;
-        try {
-            bw = new BufferedWriter(new FileWriter(filePath));
-            bw.write(s);
-        } catch (final Exception e) {
+            converter.convert(new File(filePath), Charset.defaultCharset().name());
+        } catch (final IOException e) {
             e.printStackTrace();
-        } finally {
-            if (bw != null) {
-                try {
-                    bw.close();
-                } catch (final IOException e) {
-                    bw = null;
-                }
-            }
         }
     }
 
@@ -259,18 +219,13 @@ public class IOUtil {
      */
     public static byte[] shootImage(final InputStream imageInput, final int x, final int y,
             final int width, final int height) throws IOException {
-        BufferedImage image = ImageIO.read(imageInput);
-        image = image.getSubimage(x, y, width, height);
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        ImageIO.write(image, "jpg", out);
-        out.flush();
-        final byte[] b = out.toByteArray();
-        out.close();
-        return b;
+        final BufferedImage image = ImageUtil.read(imageInput);
+        // 子图直接编码，无需复制像素
+        return ImageUtil.toBytes(image.getSubimage(x, y, width, height), "jpg");
     }
 
     /**
-     * 查找与指定区域匹配的国际化的资源
+     * 查找与指定区域匹配的国际化的资源，每组基本名和扩展名只扫描一次类路径，详见{@link I18nResourceIndex}
      *
      * @param basename
      *            文件基本名
@@ -285,42 +240,15 @@ public class IOUtil {
         basename = basename.trim();
         Assert.hasText(basename, "Basename must not be empty");
         basename = basename.replace('\\', '/');
-        // 把basename中classpath:替换为classpath*:后进行查找
-        final StringBuffer searchBasename = new StringBuffer(
-                basename.replace(ResourceUtils.CLASSPATH_URL_PREFIX,
-                        ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX)).append(Strings.ASTERISK);
-        if (!extension.startsWith(Strings.DOT)) {
-            searchBasename.append(Strings.DOT);
-        }
-        searchBasename.append(extension);
-        // 查找文件资源
-        final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
-        try {
-            final Resource[] resources = resourcePatternResolver
-                    .getResources(searchBasename.toString());
-            Resource result = null;
-            for (final Resource resource : resources) {
-                final String fileName = resource.getFilename();
-                final String[] fileNameArray = fileName.split(Strings.UNDERLINE);
-                if (StringUtils.indexOfIgnoreCase(fileName,
-                        locale.getLanguage() + "_" + locale.getCountry(), 0) >= 0) {
-                    result = resource;
-                    break;
-                } else if (StringUtils.indexOfIgnoreCase(fileName, locale.getLanguage(), 0) >= 0) {
-                    result = resource;
-                } else if (result == null && fileNameArray.length == 1) {
-                    result = resource;
-                }
-            }
-            return result;
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-        return null;
+        return I18nResourceIndex.findResource(basename, locale, toExtension(extension));
+    }
+
+    private static String toExtension(final String extension) {
+        return extension.startsWith(Strings.DOT) ? extension : Strings.DOT + extension;
     }
 
     /**
-     * 查找与指定目录下区域匹配的国际化的文件
+     * 查找与指定目录下区域匹配的国际化的文件，每组目录、基本名和扩展名只遍历一次目录，详见{@link I18nResourceIndex}
      *
      * @param baseDir
      *            目录
@@ -334,33 +262,7 @@ public class IOUtil {
      */
     public static File findI18nFileByDir(final String baseDir, final String basename,
             final String extension, final Locale locale) {
-        final StringBuffer searchFileName = new StringBuffer(basename).append(Strings.ASTERISK);
-        if (!extension.startsWith(Strings.DOT)) {
-            searchFileName.append(Strings.DOT);
-        }
-        searchFileName.append(extension);
-        final List<File> resultList = new ArrayList<>();
-        findFiles(baseDir, searchFileName.toString(), resultList);
-
-        File returnFile = null;
-        if (resultList.size() > 0) {
-            for (final File file : resultList) {
-                final String resultFileName = file.getName();
-                final String[] fileNameArray = resultFileName.split(Strings.UNDERLINE);
-                if (StringUtils.indexOfIgnoreCase(resultFileName,
-                        locale.getLanguage() + "_" + locale.getCountry(), 0) >= 0) {
-                    returnFile = file;
-                    break;
-                } else if (StringUtils.indexOfIgnoreCase(resultFileName, locale.getLanguage(),
-                        0) >= 0) {
-                    returnFile = file;
-                } else if (returnFile == null && fileNameArray.length == 1) {
-                    returnFile = file;
-                }
-            }
-
-        }
-        return returnFile;
+        return I18nResourceIndex.findFile(baseDir, basename, toExtension(extension), locale);
     }
 
     /**
@@ -441,7 +343,10 @@ public class IOUtil {
 
     /**
      * 图片装载器
+     *
+     * @deprecated 共享的装载器会使所有图片装载串行化，已不再使用，图片处理详见{@link ImageUtil}
      */
+    @Deprecated
     public static final MediaTracker tracker = new MediaTracker(new Component() {
         private static final long serialVersionUID = 1234162663955668507L;
     });
@@ -465,12 +370,18 @@ public class IOUtil {
     }
 
     /**
-     * 等待图片装载
+     * 等待图片装载，每次使用独立的装载器，以免不同线程的图片装载互相阻塞
      *
      * @param image
      *            图片
      */
     private static void waitForImage(final Image image) {
+        if (image instanceof BufferedImage) { // 已在内存中，无需装载
+            return;
+        }
+        final MediaTracker tracker = new MediaTracker(new Component() {
+            private static final long serialVersionUID = 1234162663955668507L;
+        });
         try {
             tracker.addImage(image, 0);
             tracker.waitForID(0);
@@ -494,10 +405,7 @@ public class IOUtil {
     public static BufferedImage zoomImage(final InputStream in, final int width)
             throws IOException {
         try {
-            final byte[] bytes = IOUtils.toByteArray(in);// 将文件流转换为Byte数组
-            final Image originalImage = Toolkit.getDefaultToolkit().createImage(bytes);// 将Byte数组转换为图片
-            waitForImage(originalImage); // 等待图片加载
-            return zoomImage(originalImage, width);
+            return zoomImage(ImageUtil.read(in), width);
         } finally {
             try {
                 if (in != null) {
@@ -519,36 +427,25 @@ public class IOUtil {
      *
      * @author jianglei
      */
-    public static BufferedImage zoomImage(final Image image, int width) {
-        final int originalWidth = image.getWidth(null);
-        if (originalWidth == width) {
-            if (image instanceof BufferedImage) {
-                return (BufferedImage) image;
-            }
-        }
-        final int originalHeight = image.getHeight(null);
+    public static BufferedImage zoomImage(final Image image, final int width) {
         checkImage(image);
-
-        // 计算等比高宽
-        int height = -1;
-        final double scaleW = (double) originalWidth / (double) width;
-        final double scaleY = (double) originalHeight / (double) height;
-        if (scaleW >= 0 && scaleY >= 0) {
-            if (scaleW > scaleY) {
-                height = -1;
-            } else {
-                width = -1;
+        final BufferedImage bufferedImage;
+        if (image instanceof BufferedImage) {
+            bufferedImage = (BufferedImage) image;
+            if (bufferedImage.getWidth() == width) {
+                return bufferedImage;
             }
+        } else { // 非内存图片先绘制为内存图片
+            bufferedImage = new BufferedImage(image.getWidth(null), image.getHeight(null),
+                    BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D graphics = bufferedImage.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
         }
-
-        // 渲染缩略图
-        final Image newImage = image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        checkImage(newImage);
-        final BufferedImage bi = new BufferedImage(newImage.getWidth(null),
-                newImage.getHeight(null), BufferedImage.TYPE_INT_RGB);
-        final Graphics2D graphics = bi.createGraphics();
-        graphics.drawImage(newImage, 0, 0, null);
-        return bi;
+        // 按宽度等比缩放，渐进式双线性插值
+        final int height = (int) Math.max(1,
+                Math.round((double) bufferedImage.getHeight() * width / bufferedImage.getWidth()));
+        return ImageUtil.scale(bufferedImage, width, height, BufferedImage.TYPE_INT_RGB);
     }
 
     /**
@@ -631,17 +528,10 @@ public class IOUtil {
 
     public static BufferedImage cropImage(final BufferedImage image, final String formatName,
             final int x, final int y, final int width, final int height) throws IOException {
-        final Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(formatName);
-        if (!readers.hasNext()) {
+        if (!ImageIO.getImageReadersByFormatName(formatName).hasNext()) {
             return null;
         }
-        final ImageReader reader = readers.next();
-        final ByteArrayInputStream in = new ByteArrayInputStream(imageToBytes(image, formatName));
-        final ImageInputStream iis = ImageIO.createImageInputStream(in);
-        reader.setInput(iis, true);
-        final ImageReadParam param = reader.getDefaultReadParam();
-        final Rectangle rect = new Rectangle(x, y, width, height);
-        param.setSourceRegion(rect);
-        return reader.read(0, param);
+        // 直接在内存中截取，无需编码再解码
+        return ImageUtil.crop(image, x, y, width, height);
     }
 }
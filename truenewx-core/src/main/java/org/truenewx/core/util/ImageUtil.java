@@ -0,0 +1,260 @@
+package org.truenewx.core.util;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.util.Assert;
+
+/**
+ * 图片工具类<br/>
+ * 仅基于{@link ImageIO}和{@link BufferedImage}，不依赖AWT工具包和共享的图片装载器，可在无图形环境中多线程并行处理。<br/>
+ * 注意：加载本类时将关闭ImageIO的磁盘缓存，以免编解码时读写临时文件
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class ImageUtil {
+
+    static {
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * 可缓存复用的缓冲区最大像素数，更大的中间结果临时创建，以免长期占用过多内存。
+     * 每个线程至多缓存4个缓冲区，即至多占用4MB内存
+     */
+    private static final int MAX_SCRATCH_PIXELS = 512 * 512;
+
+    /**
+     * 每个线程的缩放中间结果缓冲区：[不透明A, 不透明B, 透明A, 透明B]
+     */
+    private static final ThreadLocal<BufferedImage[]> SCRATCHES = new ThreadLocal<BufferedImage[]>() {
+        @Override
+        protected BufferedImage[] initialValue() {
+            return new BufferedImage[4];
+        }
+    };
+
+    private ImageUtil() {
+    }
+
+    /**
+     * 从指定输入流中读取图片，不关闭输入流
+     *
+     * @param in
+     *            输入流
+     * @return 图片
+     * @throws IOException
+     *             如果读取出现错误或输入流中的数据不是可识别的图片
+     */
+    public static BufferedImage read(final InputStream in) throws IOException {
+        final BufferedImage image = ImageIO.read(in);
+        if (image == null) {
+            throw new IOException("Unsupported image format");
+        }
+        return image;
+    }
+
+    /**
+     * 将指定图片以指定格式直接编码输出到指定输出流中，不关闭输出流
+     *
+     * @param image
+     *            图片
+     * @param formatName
+     *            格式名称，如：jpg、png
+     * @param out
+     *            输出流
+     * @throws IOException
+     *             如果输出出现错误或不支持指定格式
+     */
+    public static void write(final BufferedImage image, final String formatName,
+            final OutputStream out) throws IOException {
+        if (!ImageIO.write(image, formatName, out)) {
+            throw new IOException("Unsupported image format: " + formatName);
+        }
+    }
+
+    /**
+     * 将指定图片以指定格式编码为字节数组
+     *
+     * @param image
+     *            图片
+     * @param formatName
+     *            格式名称，如：jpg、png
+     * @return 图片数据
+     * @throws IOException
+     *             如果编码出现错误或不支持指定格式
+     */
+    public static byte[] toBytes(final BufferedImage image, final String formatName)
+            throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(image, formatName, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 按指定宽度等比缩放图片
+     *
+     * @param image
+     *            原图片
+     * @param width
+     *            目标宽度
+     * @return 缩放后的新图片，目标宽度与原图片宽度相同时返回原图片
+     */
+    public static BufferedImage zoom(final BufferedImage image, final int width) {
+        if (image.getWidth() == width) {
+            return image;
+        }
+        final int height = (int) Math
+                .max(1, Math.round((double) image.getHeight() * width / image.getWidth()));
+        return scale(image, width, height);
+    }
+
+    /**
+     * 将图片缩放为指定大小。缩小时逐步减半进行双线性插值，每步缩小不超过一半，以接近面积平均的效果且远快于平滑缩放；
+     * 中间结果存放于当前线程复用的缓冲区中
+     *
+     * @param image
+     *            原图片
+     * @param width
+     *            目标宽度
+     * @param height
+     *            目标高度
+     * @return 缩放后的新图片，原图片不透明时为{@link BufferedImage#TYPE_INT_RGB}类型，否则为
+     *         {@link BufferedImage#TYPE_INT_ARGB}类型
+     */
+    public static BufferedImage scale(final BufferedImage image, final int width,
+            final int height) {
+        final int type = image.getTransparency() == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        return scale(image, width, height, type);
+    }
+
+    /**
+     * 将图片缩放为指定大小和类型
+     *
+     * @param image
+     *            原图片
+     * @param width
+     *            目标宽度
+     * @param height
+     *            目标高度
+     * @param type
+     *            目标图片类型，{@link BufferedImage#TYPE_INT_RGB}或{@link BufferedImage#TYPE_INT_ARGB}
+     * @return 缩放后的新图片
+     */
+    public static BufferedImage scale(final BufferedImage image, final int width,
+            final int height, final int type) {
+        Assert.isTrue(width > 0 && height > 0, "Target size must be positive");
+        Assert.isTrue(type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB,
+                "Unsupported image type: " + type);
+        final BufferedImage[] scratches = SCRATCHES.get();
+        final int scratchOffset = type == BufferedImage.TYPE_INT_RGB ? 0 : 2;
+        BufferedImage source = image;
+        int sourceWidth = image.getWidth();
+        int sourceHeight = image.getHeight();
+        int step = 0;
+        while (true) {
+            final int targetWidth = nextSize(sourceWidth, width);
+            final int targetHeight = nextSize(sourceHeight, height);
+            final boolean last = targetWidth == width && targetHeight == height;
+            final BufferedImage target;
+            if (last) {
+                target = new BufferedImage(width, height, type);
+            } else {
+                final int index = scratchOffset + step % 2;
+                BufferedImage scratch = scratches[index];
+                if (scratch == null || scratch.getWidth() < targetWidth
+                        || scratch.getHeight() < targetHeight) {
+                    scratch = new BufferedImage(targetWidth, targetHeight, type);
+                    if (targetWidth * targetHeight <= MAX_SCRATCH_PIXELS) {
+                        scratches[index] = scratch;
+                    }
+                }
+                target = scratch;
+            }
+            final Graphics2D graphics = target.createGraphics();
+            try {
+                graphics.setComposite(AlphaComposite.Src); // 覆盖缓冲区中的残留内容
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(source, 0, 0, targetWidth, targetHeight, 0, 0, sourceWidth,
+                        sourceHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            if (last) {
+                return target;
+            }
+            source = target;
+            sourceWidth = targetWidth;
+            sourceHeight = targetHeight;
+            step++;
+        }
+    }
+
+    private static int nextSize(final int size, final int targetSize) {
+        if (size > targetSize) {
+            return Math.max(size / 2, targetSize);
+        }
+        return targetSize; // 放大时一步到位
+    }
+
+    /**
+     * 截取图片的指定矩形区域，得到与原图片不共享数据的新图片
+     *
+     * @param image
+     *            原图片
+     * @param x
+     *            截取矩形区域相对于图片的x轴坐标
+     * @param y
+     *            截取矩形区域相对于图片的y轴坐标
+     * @param width
+     *            截取矩形区域的宽度
+     * @param height
+     *            截取矩形区域的高度
+     * @return 截取得到的新图片
+     */
+    public static BufferedImage crop(final BufferedImage image, final int x, final int y,
+            final int width, final int height) {
+        final BufferedImage subimage = image.getSubimage(x, y, width, height);
+        final int type = image.getTransparency() == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        final BufferedImage result = new BufferedImage(width, height, type);
+        final Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.drawImage(subimage, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * 将指定图片绘制在指定背景图片的中央
+     *
+     * @param background
+     *            背景图片，将被修改
+     * @param image
+     *            绘制的图片
+     */
+    public static void drawCenter(final BufferedImage background, final BufferedImage image) {
+        final Graphics2D graphics = background.createGraphics();
+        try {
+            graphics.drawImage(image, (background.getWidth() - image.getWidth()) / 2,
+                    (background.getHeight() - image.getHeight()) / 2, null);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+}
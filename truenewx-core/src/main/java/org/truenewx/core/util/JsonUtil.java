@@ -1,7 +1,11 @@
 package org.truenewx.core.util;
 
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -9,6 +13,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.beanutils.BeanUtils;
 import org.truenewx.core.util.json.MultiPropertyPreFilter;
@@ -17,7 +22,10 @@ import org.truenewx.core.util.json.TypeSerializeFilter;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.PropertyPreFilter;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.serializer.SimplePropertyPreFilter;
 
 /**
@@ -29,7 +37,12 @@ import com.alibaba.fastjson.serializer.SimplePropertyPreFilter;
 public class JsonUtil {
 
     /**
-     * 获取JSON过滤器实例
+     * 过滤器缓存，过滤器创建后不再修改，可被多线程共享
+     */
+    private static final Map<List<Object>, PropertyPreFilter> FILTER_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 获取JSON过滤器实例，相同参数的过滤器实例会被缓存复用
      *
      * @param clazz
      *            需进行属性排除的类
@@ -37,12 +50,41 @@ public class JsonUtil {
      *            需排除的属性
      * @return JSON过滤器实例
      */
-    private static PropertyPreFilter getFilterInstance(final Class<?> clazz,
+    public static PropertyPreFilter getFilterInstance(final Class<?> clazz,
             final String... excludeProperties) {
-        final SimplePropertyPreFilter filter = new SimplePropertyPreFilter(clazz);
-        final Set<String> excludeList = filter.getExcludes();
-        for (final String exclude : excludeProperties) {
-            excludeList.add(exclude);
+        final List<Object> key = Arrays.<Object> asList(clazz, Arrays.asList(excludeProperties));
+        PropertyPreFilter filter = FILTER_CACHE.get(key);
+        if (filter == null) {
+            final SimplePropertyPreFilter simpleFilter = new SimplePropertyPreFilter(clazz);
+            final Set<String> excludeList = simpleFilter.getExcludes();
+            for (final String exclude : excludeProperties) {
+                excludeList.add(exclude);
+            }
+            filter = simpleFilter;
+            FILTER_CACHE.put(key, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * 获取JSON过滤器实例，相同参数的过滤器实例会被缓存复用
+     *
+     * @param clazz
+     *            需进行属性过滤的类
+     * @param includeProperties
+     *            需包含的属性
+     * @param excludeProperties
+     *            需排除的属性
+     * @return JSON过滤器实例
+     */
+    public static PropertyPreFilter getFilterInstance(final Class<?> clazz,
+            final String[] includeProperties, final String[] excludeProperties) {
+        final List<Object> key = Arrays.<Object> asList(clazz, Arrays.asList(includeProperties),
+                Arrays.asList(excludeProperties));
+        PropertyPreFilter filter = FILTER_CACHE.get(key);
+        if (filter == null) {
+            filter = new MultiPropertyPreFilter(clazz, includeProperties, excludeProperties);
+            FILTER_CACHE.put(key, filter);
         }
         return filter;
     }
@@ -111,6 +153,53 @@ public class JsonUtil {
         }
     }
 
+    /**
+     * 将指定任意类型的对象转换为JSON格式的字符串
+     *
+     * @param obj
+     *            对象
+     * @param singleQuote
+     *            是否以单引号代替双引号，以便在页面的双引号字符串中使用
+     * @return JSON格式的字符串
+     */
+    public static String toJson(final Object obj, final boolean singleQuote) {
+        final String json = JSON.toJSONString(obj);
+        // 不能使用单引号序列化特性，它不转义值中的双引号，会与页面的双引号冲突
+        return singleQuote ? json.replace('"', '\'') : json;
+    }
+
+    /**
+     * 将指定任意类型的对象以JSON格式写入指定输出器，不生成中间字符串。<br>
+     * 先序列化到缓冲区，序列化成功后才直接从缓冲区写入输出器，出现异常时不会写入不完整的内容；
+     * 以单引号代替双引号时分段替换后写入，不复制整个缓冲区
+     *
+     * @param writer
+     *            输出器
+     * @param obj
+     *            对象
+     * @param singleQuote
+     *            是否以单引号代替双引号，以便在页面的双引号字符串中使用
+     * @param filters
+     *            序列化过滤器集
+     * @throws IOException
+     *             如果写入时出现错误
+     */
+    public static void writeJson(final Writer writer, final Object obj, final boolean singleQuote,
+            final SerializeFilter... filters) throws IOException {
+        final SerializeWriter out = new SerializeWriter();
+        try {
+            final JSONSerializer serializer = new JSONSerializer(out);
+            for (final SerializeFilter filter : filters) {
+                serializer.addFilter(filter);
+            }
+            serializer.write(obj);
+            // 与toJson(obj, true)一致，序列化后再将双引号替换为单引号
+            out.writeTo(singleQuote ? new SingleQuoteWriter(writer) : writer);
+        } finally {
+            out.close(); // 归还缓冲区
+        }
+    }
+
     /**
      * 将JSON标准形式的字符串转换为对象
      *
@@ -251,4 +340,51 @@ public class JsonUtil {
         return array;
     }
 
+    /**
+     * 将双引号替换为单引号后写入被代理输出器的输出器，按固定大小的分段替换，不关闭被代理的输出器
+     */
+    private static class SingleQuoteWriter extends FilterWriter {
+
+        private final char[] buffer = new char[1024];
+
+        public SingleQuoteWriter(final Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            this.out.write(c == '"' ? '\'' : c);
+        }
+
+        @Override
+        public void write(final char[] cbuf, int off, int len) throws IOException {
+            while (len > 0) {
+                final int n = Math.min(len, this.buffer.length);
+                for (int i = 0; i < n; i++) {
+                    final char c = cbuf[off + i];
+                    this.buffer[i] = c == '"' ? '\'' : c;
+                }
+                this.out.write(this.buffer, 0, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void write(final String str, int off, int len) throws IOException {
+            while (len > 0) {
+                final int n = Math.min(len, this.buffer.length);
+                str.getChars(off, off + n, this.buffer, 0);
+                for (int i = 0; i < n; i++) {
+                    if (this.buffer[i] == '"') {
+                        this.buffer[i] = '\'';
+                    }
+                }
+                this.out.write(this.buffer, 0, n);
+                off += n;
+                len -= n;
+            }
+        }
+    }
+
 }
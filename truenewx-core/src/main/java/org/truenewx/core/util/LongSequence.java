@@ -1,24 +1,47 @@
 package org.truenewx.core.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
 /**
- * 长整型序列号
+ * 长整型序列号，基于内存中的原子计数，无锁生成。<br>
+ * 需在重启后及多个节点间不重复时，请使用{@link BlockSequenceGenerator}
  *
  * @author jianglei
  *
  */
-public class LongSequence {
+public class LongSequence implements SequenceGenerator {
 
-    private long sequence;
+    private final AtomicLong sequence;
 
     public LongSequence() {
+        this(0);
     }
 
+    /**
+     *
+     * @param first
+     *            初始值，生成的首个序列号为该值加一
+     */
     public LongSequence(final long first) {
-        this.sequence = first;
+        this.sequence = new AtomicLong(first);
     }
 
-    public synchronized long next() {
-        return ++this.sequence;
+    @Override
+    public long next() {
+        return this.sequence.incrementAndGet();
+    }
+
+    @Override
+    public long[] next(final int count) {
+        Assert.isTrue(count >= 0, "count must be >=0");
+        final long last = this.sequence.addAndGet(count);
+        final long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = last - count + 1 + i;
+        }
+        return ids;
     }
 
     @Override
@@ -27,17 +50,17 @@ public class LongSequence {
             return super.equals(obj);
         }
         final LongSequence ls = (LongSequence) obj;
-        return this.sequence == ls.sequence;
+        return this.sequence.get() == ls.sequence.get();
     }
 
     @Override
     public int hashCode() {
-        return Long.valueOf(this.sequence).hashCode();
+        return Long.valueOf(this.sequence.get()).hashCode();
     }
 
     @Override
     public String toString() {
-        return String.valueOf(this.sequence);
+        return String.valueOf(this.sequence.get());
     }
 
 }
@@ -9,6 +9,7 @@ import java.util.Map;
  * 具有数量限制的Map，继承自{@link LinkedHashMap}。<br>
  * 当Map大小达到最大值后，优先移除最早被加入的条目，put()和putAll()方法会更新条目的顺序
  * 
+ * @deprecated 非线程安全且淘汰效率低，用作缓存时请使用{@link ConcurrentCache}
  * @author jianglei
  * @since JDK 1.8
  * @param <K>
@@ -16,6 +17,7 @@ import java.util.Map;
  * @param <V>
  *            值类型
  */
+@Deprecated
 public class MaxSizeMap<K, V> extends LinkedHashMap<K, V> {
     private static final long serialVersionUID = 2281427155741137971L;
 
@@ -0,0 +1,298 @@
+package org.truenewx.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 多字符串匹配器，基于Aho-Corasick自动机实现。<br>
+ * 自动机在构造时一次性构建，之后可被多线程共享，对文本的查找、替换均只需扫描一遍
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class MultiStringMatcher {
+
+    private final String[] patterns;
+    private final boolean ignoreCase;
+    private final Node root;
+
+    /**
+     *
+     * @param patterns
+     *            待匹配的字符串集，空字符串将被忽略
+     * @param ignoreCase
+     *            是否忽略大小写
+     */
+    public MultiStringMatcher(final Collection<String> patterns, final boolean ignoreCase) {
+        final Set<String> set = new LinkedHashSet<>();
+        for (final String pattern : patterns) {
+            if (pattern != null && pattern.length() > 0) {
+                set.add(ignoreCase ? pattern.toLowerCase() : pattern);
+            }
+        }
+        this.patterns = set.toArray(new String[set.size()]);
+        this.ignoreCase = ignoreCase;
+        this.root = build(this.patterns, ignoreCase);
+    }
+
+    /**
+     *
+     * @param patterns
+     *            待匹配的字符串集，空字符串将被忽略
+     * @param ignoreCase
+     *            是否忽略大小写
+     */
+    public MultiStringMatcher(final String[] patterns, final boolean ignoreCase) {
+        this(Arrays.asList(patterns), ignoreCase);
+    }
+
+    public MultiStringMatcher(final String... patterns) {
+        this(patterns, false);
+    }
+
+    private static Node build(final String[] patterns, final boolean ignoreCase) {
+        final Node root = new Node(0);
+        for (int i = 0; i < patterns.length; i++) {
+            final String pattern = patterns[i];
+            Node node = root;
+            for (int j = 0; j < pattern.length(); j++) {
+                node = node.addChild(fold(pattern.charAt(j), ignoreCase));
+            }
+            node.patternIndex = i;
+        }
+        // 广度优先计算失败链接和输出链接
+        final Queue<Node> queue = new ArrayDeque<>();
+        root.compile();
+        for (final Node child : root.children) {
+            child.fail = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            node.compile();
+            node.output = node.fail.patternIndex >= 0 ? node.fail : node.fail.output;
+            for (int i = 0; i < node.keys.length; i++) {
+                final Node child = node.children[i];
+                Node fail = node.fail;
+                Node next = fail.getChild(node.keys[i]);
+                while (next == null && fail != root) {
+                    fail = fail.fail;
+                    next = fail.getChild(node.keys[i]);
+                }
+                child.fail = next == null ? root : next;
+                queue.add(child);
+            }
+        }
+        return root;
+    }
+
+    private static char fold(final char c, final boolean ignoreCase) {
+        return ignoreCase ? Character.toLowerCase(c) : c;
+    }
+
+    private Node next(Node node, final char c) {
+        while (true) {
+            final Node child = node.getChild(c);
+            if (child != null) {
+                return child;
+            }
+            if (node == this.root) {
+                return this.root;
+            }
+            node = node.fail;
+        }
+    }
+
+    /**
+     *
+     * @return 是否没有任何待匹配的字符串
+     */
+    public boolean isEmpty() {
+        return this.patterns.length == 0;
+    }
+
+    /**
+     *
+     * @return 待匹配的字符串集，忽略大小写时均为小写
+     */
+    public String[] getPatterns() {
+        return this.patterns.clone();
+    }
+
+    /**
+     * 判断指定文本中是否包含任一待匹配的字符串
+     *
+     * @param text
+     *            文本
+     * @return true if 指定文本中包含任一待匹配的字符串, otherwise false
+     */
+    public boolean containsAny(final CharSequence text) {
+        if (text == null || isEmpty()) {
+            return false;
+        }
+        Node node = this.root;
+        for (int i = 0; i < text.length(); i++) {
+            node = next(node, fold(text.charAt(i), this.ignoreCase));
+            if (node.patternIndex >= 0 || node.output != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从指定位置开始在指定文本中查找最靠左的匹配，起始位置相同时取最长的匹配
+     *
+     * @param text
+     *            文本
+     * @param fromIndex
+     *            开始查找的位置
+     * @return 匹配结果，没有匹配时返回null
+     */
+    public Match find(final CharSequence text, final int fromIndex) {
+        if (text == null || isEmpty()) {
+            return null;
+        }
+        int bestStart = -1;
+        int bestEnd = -1;
+        int bestIndex = -1;
+        Node node = this.root;
+        for (int i = Math.max(fromIndex, 0); i < text.length(); i++) {
+            node = next(node, fold(text.charAt(i), this.ignoreCase));
+            for (Node out = node.patternIndex >= 0 ? node : node.output; out != null; out = out.output) {
+                final int start = i + 1 - out.depth;
+                if (bestStart < 0 || start < bestStart) {
+                    bestStart = start;
+                    bestEnd = i + 1;
+                    bestIndex = out.patternIndex;
+                } else if (start == bestStart && i + 1 > bestEnd) {
+                    bestEnd = i + 1;
+                    bestIndex = out.patternIndex;
+                }
+            }
+            // 当前状态对应的最早起始位置已在最佳匹配之后，不可能再有更靠左或更长的匹配
+            if (bestStart >= 0 && i + 1 - node.depth > bestStart) {
+                break;
+            }
+        }
+        return bestStart < 0 ? null : new Match(bestStart, bestEnd, this.patterns[bestIndex]);
+    }
+
+    /**
+     * 将指定文本中所有匹配的字符串替换为指定字符串，互相重叠的匹配取最靠左最长者
+     *
+     * @param text
+     *            文本
+     * @param replacement
+     *            替换字符串
+     * @return 替换后的文本，没有任何匹配时返回原文本
+     */
+    public String replaceAll(final String text, final String replacement) {
+        Match match = find(text, 0);
+        if (match == null) {
+            return text;
+        }
+        final StringBuilder sb = new StringBuilder(text.length());
+        int index = 0;
+        while (match != null) {
+            sb.append(text, index, match.getStart()).append(replacement);
+            index = match.getEnd();
+            match = find(text, index);
+        }
+        sb.append(text, index, text.length());
+        return sb.toString();
+    }
+
+    /**
+     * 匹配结果
+     */
+    public static class Match {
+        private final int start;
+        private final int end;
+        private final String pattern;
+
+        private Match(final int start, final int end, final String pattern) {
+            this.start = start;
+            this.end = end;
+            this.pattern = pattern;
+        }
+
+        /**
+         *
+         * @return 匹配在文本中的起始位置（包含）
+         */
+        public int getStart() {
+            return this.start;
+        }
+
+        /**
+         *
+         * @return 匹配在文本中的结束位置（不包含）
+         */
+        public int getEnd() {
+            return this.end;
+        }
+
+        /**
+         *
+         * @return 匹配到的字符串，忽略大小写时为小写
+         */
+        public String getPattern() {
+            return this.pattern;
+        }
+    }
+
+    private static class Node {
+        private final int depth;
+        private Map<Character, Node> building = new TreeMap<>();
+        private char[] keys;
+        private Node[] children;
+        private Node fail;
+        /**
+         * 沿失败链接可到达的最近的匹配结点
+         */
+        private Node output;
+        private int patternIndex = -1;
+
+        public Node(final int depth) {
+            this.depth = depth;
+        }
+
+        public Node addChild(final char c) {
+            Node child = this.building.get(c);
+            if (child == null) {
+                child = new Node(this.depth + 1);
+                this.building.put(c, child);
+            }
+            return child;
+        }
+
+        /**
+         * 将构建时的子结点映射转换为有序数组，以便查找时二分定位
+         */
+        public void compile() {
+            final int size = this.building.size();
+            this.keys = new char[size];
+            this.children = new Node[size];
+            int i = 0;
+            for (final Map.Entry<Character, Node> entry : this.building.entrySet()) {
+                this.keys[i] = entry.getKey();
+                this.children[i] = entry.getValue();
+                i++;
+            }
+            this.building = null;
+        }
+
+        public Node getChild(final char c) {
+            final int index = Arrays.binarySearch(this.keys, c);
+            return index >= 0 ? this.children[index] : null;
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package org.truenewx.core.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 正则表达式工具类，集中缓存预编译的正则表达式模式。<br>
+ * 通过{@link #register(String, int)}注册的模式常驻缓存；其它动态模式缓存在有数量限制的LRU缓存中
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class RegexUtil {
+
+    /**
+     * 动态模式缓存的最大数量
+     */
+    private static final int MAX_DYNAMIC_SIZE = 512;
+
+    private static final Map<PatternKey, Pattern> REGISTERED_PATTERNS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentCache<PatternKey, Pattern> DYNAMIC_PATTERNS = new ConcurrentCache<>(
+            MAX_DYNAMIC_SIZE);
+
+    private RegexUtil() {
+    }
+
+    /**
+     * 注册常驻缓存的正则表达式模式
+     *
+     * @param regex
+     *            正则表达式
+     * @param flags
+     *            匹配标志
+     * @return 预编译的模式
+     * @throws PatternSyntaxException
+     *             如果正则表达式语法错误
+     */
+    public static Pattern register(final String regex, final int flags) {
+        final PatternKey key = new PatternKey(regex, flags);
+        Pattern pattern = REGISTERED_PATTERNS.get(key);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex, flags);
+            final Pattern existing = REGISTERED_PATTERNS.putIfAbsent(key, pattern);
+            if (existing != null) {
+                pattern = existing;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * 注册常驻缓存的正则表达式模式
+     *
+     * @param regex
+     *            正则表达式
+     * @return 预编译的模式
+     * @throws PatternSyntaxException
+     *             如果正则表达式语法错误
+     */
+    public static Pattern register(final String regex) {
+        return register(regex, 0);
+    }
+
+    /**
+     * 获取指定正则表达式和匹配标志对应的预编译模式，优先从缓存中获取
+     *
+     * @param regex
+     *            正则表达式
+     * @param flags
+     *            匹配标志
+     * @return 预编译的模式
+     * @throws PatternSyntaxException
+     *             如果正则表达式语法错误
+     */
+    public static Pattern getPattern(final String regex, final int flags) {
+        final PatternKey key = new PatternKey(regex, flags);
+        Pattern pattern = REGISTERED_PATTERNS.get(key);
+        if (pattern == null) {
+            // 同一模式并发时只编译一次，不同模式之间互不阻塞
+            pattern = DYNAMIC_PATTERNS.get(key, k -> Pattern.compile(regex, flags));
+        }
+        return pattern;
+    }
+
+    /**
+     * 获取指定正则表达式对应的预编译模式，优先从缓存中获取
+     *
+     * @param regex
+     *            正则表达式
+     * @return 预编译的模式
+     * @throws PatternSyntaxException
+     *             如果正则表达式语法错误
+     */
+    public static Pattern getPattern(final String regex) {
+        return getPattern(regex, 0);
+    }
+
+    /**
+     * 校验指定字符串是否完全匹配指定正则表达式，正则表达式语法错误时返回false
+     *
+     * @param s
+     *            字符串
+     * @param regex
+     *            正则表达式
+     * @param flags
+     *            匹配标志
+     * @return true if 指定字符串完全匹配指定正则表达式, otherwise false
+     */
+    public static boolean matches(final CharSequence s, final String regex, final int flags) {
+        try {
+            return getPattern(regex, flags).matcher(s).matches();
+        } catch (final PatternSyntaxException e) {
+        }
+        return false;
+    }
+
+    /**
+     * 校验指定字符串是否完全匹配指定正则表达式，正则表达式语法错误时返回false
+     *
+     * @param s
+     *            字符串
+     * @param regex
+     *            正则表达式
+     * @return true if 指定字符串完全匹配指定正则表达式, otherwise false
+     */
+    public static boolean matches(final CharSequence s, final String regex) {
+        return matches(s, regex, 0);
+    }
+
+    private static class PatternKey {
+        private final String regex;
+        private final int flags;
+
+        public PatternKey(final String regex, final int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.regex.hashCode() + this.flags;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PatternKey)) {
+                return false;
+            }
+            final PatternKey other = (PatternKey) obj;
+            return this.flags == other.flags && this.regex.equals(other.regex);
+        }
+    }
+
+}
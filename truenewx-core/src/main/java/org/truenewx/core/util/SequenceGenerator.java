@@ -0,0 +1,26 @@
+package org.truenewx.core.util;
+
+/**
+ * 序列号生成器
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public interface SequenceGenerator {
+
+    /**
+     *
+     * @return 下一个序列号
+     */
+    long next();
+
+    /**
+     * 一次获取多个序列号
+     *
+     * @param count
+     *            序列号个数
+     * @return 递增的序列号数组，不保证连续
+     */
+    long[] next(int count);
+
+}
@@ -0,0 +1,23 @@
+package org.truenewx.core.util;
+
+/**
+ * 序列号存储，为块分配序列号生成器持久化已分配的序列号范围，使其在重启后及多个节点间不重复
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ * @see BlockSequenceGenerator
+ */
+public interface SequenceStore {
+
+    /**
+     * 为指定名称的序列分配一段连续的序列号，分配结果须在返回前持久化
+     *
+     * @param name
+     *            序列名称
+     * @param size
+     *            分配的序列号个数
+     * @return 所分配范围的首个序列号，范围为[返回值, 返回值 + size)
+     */
+    long allocate(String name, int size);
+
+}
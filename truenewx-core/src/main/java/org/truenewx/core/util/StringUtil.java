@@ -14,9 +14,7 @@ import java.util.MissingResourceException;
 import java.util.Random;
 import java.util.ResourceBundle;
 import java.util.UUID;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import javax.annotation.Nullable;
 
@@ -84,6 +82,12 @@ public class StringUtil {
 
     public static final String MOBILE_PHONE_PATTERN = "^1[34578]\\d{9}$";
 
+    private static final Pattern URL_REGEX = RegexUtil.register(URL_PATTERN,
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HTML_TAG_REGEX = RegexUtil.register("<[^>]+>",
+            Pattern.CASE_INSENSITIVE);
+
     private static final PathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
 
     private static Map<String, ResourceBundle> resourceBundleCache = new Hashtable<String, ResourceBundle>();
@@ -101,11 +105,7 @@ public class StringUtil {
      * @return true if 指定字符串匹配指定正则表达式, otherwise false
      */
     public static boolean regexMatch(final String s, final String pattern) {
-        try {
-            return Pattern.matches(pattern, s);
-        } catch (final PatternSyntaxException e) {
-        }
-        return false;
+        return RegexUtil.matches(s, pattern);
     }
 
     /**
@@ -494,7 +494,39 @@ public class StringUtil {
      * @return true if 是邮件地址, otherwise false
      */
     public static boolean isEmail(final String s) {
-        return s != null && regexMatch(s, StringUtil.EMAIL_PATTERN);
+        if (s == null) {
+            return false;
+        }
+        // 与EMAIL_PATTERN等价的线性校验：本地部分为以[-+.]分隔的单词序列，域名部分为以[-.]分隔且至少含一个.的单词序列
+        final int atIndex = s.indexOf('@');
+        return atIndex > 0 && isWordSequence(s, 0, atIndex, "-+.", false)
+                && isWordSequence(s, atIndex + 1, s.length(), "-.", true);
+    }
+
+    private static boolean isWordChar(final char c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || ('0' <= c && c <= '9')
+                || c == '_';
+    }
+
+    private static boolean isWordSequence(final String s, final int begin, final int end,
+            final String separators, final boolean dotRequired) {
+        if (begin >= end || !isWordChar(s.charAt(begin)) || !isWordChar(s.charAt(end - 1))) {
+            return false;
+        }
+        boolean dotted = false;
+        boolean lastSeparator = false;
+        for (int i = begin; i < end; i++) {
+            final char c = s.charAt(i);
+            if (isWordChar(c)) {
+                lastSeparator = false;
+            } else if (!lastSeparator && separators.indexOf(c) >= 0) {
+                lastSeparator = true;
+                dotted |= c == '.';
+            } else {
+                return false;
+            }
+        }
+        return dotted || !dotRequired;
     }
 
     /**
@@ -507,9 +539,7 @@ public class StringUtil {
         if (s == null) {
             return false;
         }
-        final Pattern pattern = Pattern.compile(StringUtil.URL_PATTERN, Pattern.CASE_INSENSITIVE);
-        final Matcher matcher = pattern.matcher(s);
-        return matcher.matches();
+        return URL_REGEX.matcher(s).matches();
     }
 
     /**
@@ -542,7 +572,18 @@ public class StringUtil {
      * @return true if 指定字符串是手机号码, otherwise false
      */
     public static boolean isMobilePhone(final String s) {
-        return s != null && regexMatch(s, MOBILE_PHONE_PATTERN);
+        // 与MOBILE_PHONE_PATTERN等价的线性校验
+        if (s == null || s.length() != 11 || s.charAt(0) != '1'
+                || "34578".indexOf(s.charAt(1)) < 0) {
+            return false;
+        }
+        for (int i = 2; i < 11; i++) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -671,8 +712,195 @@ public class StringUtil {
      * @return true if 指定字符串是IP地址, otherwise false
      */
     public static boolean isIp(final String s) {
-        return s != null && (s.matches(StringUtil.IPv4_PATTERN)
-                        || s.matches(StringUtil.IPv6_PATTERN));
+        return s != null && (isIpv4(s) || isIpv6(s));
+    }
+
+    /**
+     * 判断指定字符串是否IPv4地址，与{@link #IPv4_PATTERN}等价，但不使用正则表达式
+     *
+     * @param s
+     *            字符串
+     * @return true if 指定字符串是IPv4地址, otherwise false
+     */
+    public static boolean isIpv4(final String s) {
+        if (s == null) {
+            return false;
+        }
+        final int length = s.length();
+        int segment = 0;
+        int begin = 0;
+        while (begin <= length) {
+            int end = s.indexOf('.', begin);
+            if (end < 0) {
+                end = length;
+            }
+            final int value = parseOctet(s, begin, end, false);
+            // 首节取值范围为1-223，其余节为0-255
+            if (value < 0 || (segment == 0 && (value < 1 || value > 223))) {
+                return false;
+            }
+            segment++;
+            begin = end + 1;
+        }
+        return segment == 4;
+    }
+
+    /**
+     * 判断指定字符串是否IPv6地址，与{@link #IPv6_PATTERN}等价，但不使用正则表达式
+     *
+     * @param s
+     *            字符串
+     * @return true if 指定字符串是IPv6地址, otherwise false
+     */
+    public static boolean isIpv6(final String s) {
+        if (s == null) {
+            return false;
+        }
+        int begin = 0;
+        int end = s.length();
+        while (begin < end && isPatternWhitespace(s.charAt(begin))) {
+            begin++;
+        }
+        final int percentIndex = s.indexOf('%', begin);
+        if (percentIndex >= 0) { // 区域标识，与正则表达式一致，至少一个非行结束符的字符，其后只能为空白字符
+            int index = percentIndex + 1;
+            while (index < end && !isLineTerminator(s.charAt(index))) {
+                index++;
+            }
+            if (index == percentIndex + 1) {
+                return false;
+            }
+            while (index < end && isPatternWhitespace(s.charAt(index))) {
+                index++;
+            }
+            if (index < end) {
+                return false;
+            }
+            end = percentIndex;
+        } else {
+            while (end > begin && isPatternWhitespace(s.charAt(end - 1))) {
+                end--;
+            }
+        }
+        if (begin >= end) {
+            return false;
+        }
+        if (s.indexOf(':', begin) < 0 || s.indexOf(':', begin) >= end) { // 纯IPv4形式
+            return isLooseIpv4(s, begin, end);
+        }
+        final int compressIndex = s.indexOf("::", begin);
+        final boolean compressed = compressIndex >= 0 && compressIndex < end;
+        if (compressed) {
+            final int nextCompressIndex = s.indexOf("::", compressIndex + 1);
+            if (nextCompressIndex >= 0 && nextCompressIndex < end) {
+                return false;
+            }
+        }
+        int groups = 0;
+        int index = begin;
+        while (index < end) {
+            if (compressed && index == compressIndex) {
+                index += 2;
+                continue;
+            }
+            int groupEnd = s.indexOf(':', index);
+            if (groupEnd < 0 || groupEnd > end) {
+                groupEnd = end;
+            }
+            if (groupEnd == end && s.indexOf('.', index) >= 0 && s.indexOf('.', index) < end) {
+                // 末尾内嵌的IPv4地址占两组
+                if (!isLooseIpv4(s, index, end)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            final int groupLength = groupEnd - index;
+            if (groupLength < 1 || groupLength > 4) {
+                return false;
+            }
+            for (int i = index; i < groupEnd; i++) {
+                if (!isHexDigit(s.charAt(i))) {
+                    return false;
+                }
+            }
+            groups++;
+            if (groupEnd == end) {
+                break;
+            }
+            if (groupEnd == compressIndex && compressed) {
+                index = groupEnd;
+            } else {
+                index = groupEnd + 1;
+                if (index == end) {
+                    // 以单个冒号结尾，与正则表达式一致，仅允许压缩后且不超过5组的形式，如：1::2:
+                    return compressed && groups <= 5;
+                }
+            }
+        }
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    /**
+     * 判断指定字符是否正则表达式中\s表示的空白字符
+     */
+    private static boolean isPatternWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * 判断指定字符是否正则表达式中.不能匹配的行结束符
+     */
+    private static boolean isLineTerminator(final char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * 判断指定字符是否十六进制数字，仅限ASCII字符
+     */
+    private static boolean isHexDigit(final char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    /**
+     * 判断指定字符串片段是否宽松的IPv4地址，各节允许前导0
+     */
+    private static boolean isLooseIpv4(final String s, final int begin, final int end) {
+        int segment = 0;
+        int index = begin;
+        while (index <= end) {
+            int segmentEnd = s.indexOf('.', index);
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            if (parseOctet(s, index, segmentEnd, true) < 0) {
+                return false;
+            }
+            segment++;
+            index = segmentEnd + 1;
+        }
+        return segment == 4;
+    }
+
+    /**
+     * 解析指定字符串片段为0-255之间的整数，无法解析时返回-1
+     */
+    private static int parseOctet(final String s, final int begin, final int end,
+            final boolean leadingZeroAllowed) {
+        final int length = end - begin;
+        if (length < 1 || length > 3
+                || (!leadingZeroAllowed && length > 1 && s.charAt(begin) == '0')) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = begin; i < end; i++) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= 255 ? value : -1;
     }
 
     /**
@@ -753,10 +981,7 @@ public class StringUtil {
         if (StringUtils.isEmpty(s)) {
             return s;
         }
-        final String regex = "<[^>]+>"; // 定义HTML标签的正则表达式
-        final Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-        final Matcher matcher = pattern.matcher(s);
-        s = matcher.replaceAll(" ");
+        s = HTML_TAG_REGEX.matcher(s).replaceAll(" ");
         return s;
     }
 
@@ -0,0 +1,269 @@
+package org.truenewx.core.version;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.truenewx.core.Strings;
+import org.truenewx.core.spring.beans.ContextInitializedBean;
+
+/**
+ * 基于目录的资源指纹读取器<br/>
+ * 启动时计算一次根目录下指定扩展名的文件的内容指纹，之后的读取均为查询不可变映射集；
+ * 也可在构建时通过{@link #writeManifest(File, File, String...)}生成清单文件，启动时直接加载清单文件而无需扫描目录。<br/>
+ * 可开启目录监视，文件变化时重新计算该文件的指纹，适用于开发环境
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class DirFingerprintReader implements FingerprintReader, ContextInitializedBean {
+
+    private static final int FINGERPRINT_LENGTH = 8;
+
+    private String root;
+    private String[] extensions = { ".js", ".css" };
+    private String manifest;
+    private boolean watching;
+    private File rootDir;
+    private volatile Map<String, String> fingerprints = Collections.emptyMap();
+    private Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * @param root
+     *            资源根目录路径
+     */
+    public DirFingerprintReader(final String root) {
+        Assert.notNull(root);
+        this.root = root;
+    }
+
+    /**
+     * @param extensions
+     *            需计算指纹的文件扩展名，以句点开头，默认为.js和.css
+     */
+    public void setExtensions(final String... extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * @param manifest
+     *            构建时生成的清单文件路径，该文件存在时直接加载，不扫描资源根目录
+     */
+    public void setManifest(final String manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * @param watching
+     *            是否监视资源根目录，文件变化时重新计算其指纹，默认为false
+     */
+    public void setWatching(final boolean watching) {
+        this.watching = watching;
+    }
+
+    @Override
+    public void afterInitialized(final ApplicationContext context) throws Exception {
+        final long startTime = System.currentTimeMillis();
+        if (this.manifest != null) {
+            final Resource resource = context.getResource(this.manifest);
+            if (resource.exists()) {
+                final Properties properties = new Properties();
+                try (InputStream in = resource.getInputStream()) {
+                    properties.load(in);
+                }
+                final Map<String, String> fingerprints = new HashMap<>();
+                for (final String path : properties.stringPropertyNames()) {
+                    fingerprints.put(path, properties.getProperty(path));
+                }
+                this.fingerprints = Collections.unmodifiableMap(fingerprints);
+                this.logger.info("Loaded {} resource fingerprints from {} in {}ms",
+                        fingerprints.size(), this.manifest,
+                        System.currentTimeMillis() - startTime);
+                return;
+            }
+        }
+        this.rootDir = context.getResource(this.root).getFile();
+        final Map<String, String> fingerprints = new HashMap<>();
+        scan(this.rootDir, this.rootDir, this.extensions, fingerprints);
+        this.fingerprints = Collections.unmodifiableMap(fingerprints);
+        this.logger.info("Computed {} resource fingerprints in {}ms", fingerprints.size(),
+                System.currentTimeMillis() - startTime);
+        if (this.watching) {
+            startWatching();
+        }
+    }
+
+    /**
+     * 计算指定根目录下指定扩展名的文件的指纹，写入指定清单文件，供构建时调用
+     *
+     * @param rootDir
+     *            资源根目录
+     * @param manifestFile
+     *            清单文件
+     * @param extensions
+     *            需计算指纹的文件扩展名，以句点开头
+     * @throws IOException
+     *             如果读写文件出现错误
+     */
+    public static void writeManifest(final File rootDir, final File manifestFile,
+            final String... extensions) throws IOException {
+        final Map<String, String> fingerprints = new TreeMap<>();
+        scan(rootDir, rootDir, extensions, fingerprints);
+        final Properties properties = new Properties();
+        properties.putAll(fingerprints);
+        final File dir = manifestFile.getParentFile();
+        if (dir != null) {
+            dir.mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(manifestFile)) {
+            properties.store(out, null);
+        }
+    }
+
+    private static void scan(final File rootDir, final File dir, final String[] extensions,
+            final Map<String, String> fingerprints) throws IOException {
+        final File[] files = dir.listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                if (file.isDirectory()) {
+                    scan(rootDir, file, extensions, fingerprints);
+                } else if (matches(file.getName(), extensions)) {
+                    fingerprints.put(getPath(rootDir, file), fingerprint(file));
+                }
+            }
+        }
+    }
+
+    private static boolean matches(final String filename, final String[] extensions) {
+        for (final String extension : extensions) {
+            if (filename.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getPath(final File rootDir, final File file) {
+        final String path = file.getAbsolutePath().substring(rootDir.getAbsolutePath().length());
+        return path.replace(File.separatorChar, '/');
+    }
+
+    private static String fingerprint(final File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return DigestUtils.md5Hex(in).substring(0, FINGERPRINT_LENGTH);
+        }
+    }
+
+    @Override
+    public String getFingerprint(final String path) {
+        if (path == null) {
+            return null;
+        }
+        // 去掉查询参数和锚点，并确保以/开头
+        int end = path.length();
+        final int queryIndex = path.indexOf('?');
+        if (queryIndex >= 0) {
+            end = queryIndex;
+        }
+        final int hashIndex = path.indexOf('#');
+        if (hashIndex >= 0 && hashIndex < end) {
+            end = hashIndex;
+        }
+        String key = path.substring(0, end);
+        if (!key.startsWith(Strings.SLASH)) {
+            key = Strings.SLASH + key;
+        }
+        return this.fingerprints.get(key);
+    }
+
+    @Override
+    public Map<String, String> getFingerprints() {
+        return this.fingerprints;
+    }
+
+    private void startWatching() throws IOException {
+        final WatchService watchService = FileSystems.getDefault().newWatchService();
+        register(watchService, this.rootDir);
+        final Thread thread = new Thread(() -> watch(watchService), "fingerprint-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void register(final WatchService watchService, final File dir) throws IOException {
+        dir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        final File[] subDirs = dir.listFiles(File::isDirectory);
+        if (subDirs != null) {
+            for (final File subDir : subDirs) {
+                register(watchService, subDir);
+            }
+        }
+    }
+
+    private void watch(final WatchService watchService) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (final InterruptedException e) {
+                return;
+            }
+            final Path dir = (Path) key.watchable();
+            final Map<String, String> changes = new HashMap<>();
+            for (final WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    continue;
+                }
+                final File file = dir.resolve((Path) event.context()).toFile();
+                try {
+                    if (file.isDirectory()) {
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                            register(watchService, file);
+                            scan(this.rootDir, file, this.extensions, changes);
+                        }
+                    } else if (matches(file.getName(), this.extensions)) {
+                        // 文件已删除时以null标记移除
+                        changes.put(getPath(this.rootDir, file),
+                                file.exists() ? fingerprint(file) : null);
+                    }
+                } catch (final IOException e) {
+                    this.logger.warn("Failed to refresh fingerprint of " + file, e);
+                }
+            }
+            if (changes.size() > 0) {
+                final Map<String, String> fingerprints = new HashMap<>(this.fingerprints);
+                for (final Entry<String, String> entry : changes.entrySet()) {
+                    if (entry.getValue() == null) {
+                        fingerprints.remove(entry.getKey());
+                    } else {
+                        fingerprints.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                this.fingerprints = Collections.unmodifiableMap(fingerprints);
+            }
+            key.reset();
+        }
+    }
+
+}
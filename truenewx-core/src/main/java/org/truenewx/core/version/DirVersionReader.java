@@ -2,25 +2,17 @@ package org.truenewx.core.version;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 import org.truenewx.core.Strings;
-import org.truenewx.core.functor.algorithm.impl.AlgoLast;
-import org.truenewx.core.util.ArrayUtil;
-import org.truenewx.core.util.MathUtil;
-import org.truenewx.core.util.StringUtil;
 
 /**
- * 基于目录的版本号读取器
+ * 基于目录的版本号读取器<br/>
+ * 仅在容器初始化时扫描一次版本目录，取名称为最大版本号的目录
  *
  * @author jianglei
  * @since JDK 1.8
@@ -29,28 +21,6 @@ public class DirVersionReader extends AbstractVersionReader {
 
     private String root;
 
-    private Comparator<Integer[]> comparator = new Comparator<Integer[]>() {
-        @Override
-        public int compare(final Integer[] array1, final Integer[] array2) {
-            final int size = Math.max(array1.length, array2.length);
-            for (int i = 0; i < size; i++) {
-                Integer value1 = ArrayUtil.get(array1, i);
-                if (value1 == null) {
-                    value1 = 0;
-                }
-                Integer value2 = ArrayUtil.get(array2, i);
-                if (value2 == null) {
-                    value2 = 0;
-                }
-                final int result = value1.compareTo(value2);
-                if (result != 0) {
-                    return result;
-                }
-            }
-            return 0;
-        }
-    };
-
     /**
      * @param root
      *            版本目录所在的根目录路径
@@ -80,14 +50,14 @@ public class DirVersionReader extends AbstractVersionReader {
         try {
             final String rootPath = getRootPath(context);
             final Resource[] locations = context.getResources(this.root + "/**");
-            final List<Integer[]> list = new ArrayList<>();
+            int[] max = null; // 一遍扫描取最大版本号，无需排序
             final Set<String> numbersIncludingFiles = new HashSet<>(); // 保存包含有文件的版本号
             for (final Resource location : locations) {
                 final String path = location.getURL().getPath().substring(rootPath.length());
                 if (path.endsWith(Strings.SLASH)) { // 相对路径以斜杠结尾的为目录
-                    final String filename = location.getFilename();
-                    if (StringUtil.regexMatch(filename, "\\d+(\\.\\d+)*")) {
-                        list.add(MathUtil.parseIntegerArray(filename, "\\."));
+                    final int[] array = parseVersion(location.getFilename());
+                    if (array != null && (max == null || compare(array, max) > 0)) {
+                        max = array;
                     }
                 } else { // 文件
                     final int index = path.indexOf(Strings.SLASH);
@@ -96,23 +66,84 @@ public class DirVersionReader extends AbstractVersionReader {
                     }
                 }
             }
-            Collections.sort(list, this.comparator);
-
-            final Integer[] array = AlgoLast.visit(list, null);
-            final String versionNumber = getVersion(array, array.length);
+            if (max == null) {
+                return null;
+            }
+            final String versionNumber = join(max);
             if (!numbersIncludingFiles.contains(versionNumber)) { // 版本目录下不包含文件，则需末位减一
-                for (int i = array.length - 1; i >= 0; i--) {
-                    if (array[i] > 0) {
-                        array[i] -= 1;
+                for (int i = max.length - 1; i >= 0; i--) {
+                    if (max[i] > 0) {
+                        max[i] -= 1;
                         break;
                     }
                 }
             }
-            return StringUtils.join(array, Strings.DOT);
+            return join(max);
         } catch (final IOException e) {
             e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * 解析形如1.2.3的目录名称
+     *
+     * @return 版本号数组，目录名称不是版本号时返回null
+     */
+    private static int[] parseVersion(final String filename) {
+        if (filename == null || filename.isEmpty()) {
+            return null;
+        }
+        int count = 1;
+        for (int i = 0; i < filename.length(); i++) {
+            final char c = filename.charAt(i);
+            if (c == '.') {
+                // 句点不能位于首尾或连续出现
+                if (i == 0 || i == filename.length() - 1 || filename.charAt(i - 1) == '.') {
+                    return null;
+                }
+                count++;
+            } else if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        final int[] array = new int[count];
+        int index = 0;
+        for (int i = 0; i < filename.length(); i++) {
+            final char c = filename.charAt(i);
+            if (c == '.') {
+                index++;
+            } else {
+                array[index] = array[index] * 10 + (c - '0');
+            }
+        }
+        return array;
+    }
+
+    /**
+     * 比较两个版本号数组，长度不足的视为以0补足
+     */
+    private static int compare(final int[] array1, final int[] array2) {
+        final int size = Math.max(array1.length, array2.length);
+        for (int i = 0; i < size; i++) {
+            final int value1 = i < array1.length ? array1[i] : 0;
+            final int value2 = i < array2.length ? array2[i] : 0;
+            if (value1 != value2) {
+                return value1 < value2 ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private static String join(final int[] array) {
+        final StringBuilder sb = new StringBuilder();
+        for (final int value : array) {
+            if (sb.length() > 0) {
+                sb.append(Strings.DOT);
+            }
+            sb.append(value);
+        }
+        return sb.toString();
+    }
+
 }
@@ -0,0 +1,27 @@
+package org.truenewx.core.version;
+
+import java.util.Map;
+
+/**
+ * 资源指纹读取器，用于页面引用静态资源时附加内容相关的版本参数
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public interface FingerprintReader {
+
+    /**
+     *
+     * @param path
+     *            资源相对路径，以/开头
+     * @return 资源内容的指纹，没有该资源时返回null
+     */
+    String getFingerprint(String path);
+
+    /**
+     *
+     * @return 不可变的资源相对路径-指纹映射集
+     */
+    Map<String, String> getFingerprints();
+
+}
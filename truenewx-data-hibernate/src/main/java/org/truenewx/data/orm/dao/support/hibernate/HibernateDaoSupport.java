@@ -1,6 +1,7 @@
 package org.truenewx.data.orm.dao.support.hibernate;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -73,6 +74,13 @@ public abstract class HibernateDaoSupport<T extends Entity> extends HibernateEnt
         }
     }
 
+    @Override
+    public final void evict(final T entity) {
+        if (entity != null) {
+            getHibernateTemplate().getSession().evict(entity);
+        }
+    }
+
     @Override
     public final void flush() {
         getHibernateTemplate().getSession().flush();
@@ -107,4 +115,19 @@ public abstract class HibernateDaoSupport<T extends Entity> extends HibernateEnt
     public int delete(final Class<?> dependedClass, final Serializable dependedKey) {
         return delete(getEntityName(), dependedClass, dependedKey);
     }
+
+    public QueryResult<T> findAll(final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys, final QueryParameter parameter) {
+        return findAll(getEntityName(), dependedClass, dependedKeys, parameter);
+    }
+
+    public List<Serializable> findKeys(final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys) {
+        return findKeys(getEntityName(), dependedClass, dependedKeys);
+    }
+
+    public int deleteAll(final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys) {
+        return deleteAll(getEntityName(), dependedClass, dependedKeys);
+    }
 }
@@ -2,12 +2,16 @@ package org.truenewx.data.orm.dao.support.hibernate;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.truenewx.data.model.SlicedEntity;
 import org.truenewx.data.orm.dao.SlicedDao;
 import org.truenewx.data.orm.hibernate.HibernateTemplate;
+import org.truenewx.data.query.Paging;
 import org.truenewx.data.query.QueryParameter;
 import org.truenewx.data.query.QueryResult;
 
@@ -60,6 +64,16 @@ public abstract class HibernateSlicedDaoSupoort<T extends SlicedEntity<S>, S ext
         }
     }
 
+    @Override
+    public final void evict(final T entity) {
+        if (entity != null) {
+            final S slicer = entity.getSlicer();
+            if (slicer != null) {
+                getHibernateTemplate(slicer).getSession().evict(entity);
+            }
+        }
+    }
+
     @Override
     public final void flush(final S slicer) {
         if (slicer != null) {
@@ -128,4 +142,77 @@ public abstract class HibernateSlicedDaoSupoort<T extends SlicedEntity<S>, S ext
         final String entityName = getEntityName(getSlicer(dependedClass, dependedKey));
         return delete(entityName, dependedClass, dependedKey);
     }
+
+    /**
+     * 将被依赖实体的标识集按所在切分表的实体名称分组
+     *
+     * @param dependedClass
+     *            被依赖实体的类型
+     * @param dependedKeys
+     *            被依赖实体的标识集
+     * @return 实体名称-被依赖实体标识集的映射集
+     */
+    private Map<String, List<Serializable>> groupByEntityName(final Class<?> dependedClass,
+                    final Collection<? extends Serializable> dependedKeys) {
+        final Map<String, List<Serializable>> groups = new LinkedHashMap<>();
+        for (final Serializable dependedKey : dependedKeys) {
+            final String entityName = getEntityName(getSlicer(dependedClass, dependedKey));
+            List<Serializable> group = groups.get(entityName);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.put(entityName, group);
+            }
+            group.add(dependedKey);
+        }
+        return groups;
+    }
+
+    /**
+     * 分页查询从属于指定被依赖实体集中任一实体的当前实体<br/>
+     * 被依赖实体分属多个切分表时，分页参数应用于每个切分表，结果为各切分表结果的合并
+     */
+    public QueryResult<T> findAll(final Class<?> dependedClass,
+                    final Collection<? extends Serializable> dependedKeys,
+                    final QueryParameter parameter) {
+        final Map<String, List<Serializable>> groups = groupByEntityName(dependedClass,
+                        dependedKeys);
+        if (groups.size() == 1) {
+            final Entry<String, List<Serializable>> group = groups.entrySet().iterator().next();
+            return findAll(group.getKey(), dependedClass, group.getValue(), parameter);
+        }
+        final List<T> records = new ArrayList<>();
+        int total = 0;
+        for (final Entry<String, List<Serializable>> group : groups.entrySet()) {
+            final QueryResult<T> qr = findAll(group.getKey(), dependedClass, group.getValue(),
+                            parameter);
+            records.addAll(qr.getRecords());
+            final int groupTotal = qr.getPaging().getTotal();
+            total = total < 0 || groupTotal < 0 ? Paging.UNKNOWN_TOTAL : total + groupTotal;
+        }
+        return new QueryResult<>(records, parameter.getPageSize(), parameter.getPageNo(), total);
+    }
+
+    public List<Serializable> findKeys(final Class<?> dependedClass,
+                    final Collection<? extends Serializable> dependedKeys) {
+        final List<Serializable> keys = new ArrayList<>();
+        for (final Entry<String, List<Serializable>> group : groupByEntityName(dependedClass,
+                        dependedKeys).entrySet()) {
+            keys.addAll(findKeys(group.getKey(), dependedClass, group.getValue()));
+        }
+        return keys;
+    }
+
+    public int deleteAll(final Class<?> dependedClass,
+                    final Collection<? extends Serializable> dependedKeys) {
+        int count = 0;
+        for (final Entry<String, List<Serializable>> group : groupByEntityName(dependedClass,
+                        dependedKeys).entrySet()) {
+            final int groupCount = deleteAll(group.getKey(), dependedClass, group.getValue());
+            if (groupCount < 0) { // 数量小于0表示不依赖指定类型的实体，各切分表均相同
+                return groupCount;
+            }
+            count += groupCount;
+        }
+        return count;
+    }
 }
@@ -33,6 +33,12 @@ public abstract class HibernateSlicedUnityDaoSupport<T extends SlicedUnity<K, S>
         return null;
     }
 
+    @Override
+    public final boolean isCached(final S slicer, final K id) {
+        return slicer != null && id != null
+                        && getHibernateTemplate(slicer).contains(getEntityName(slicer), id);
+    }
+
     @Override
     public T increaseNumber(final S slicer, final K id, final String propertyName,
                     final Number step) {
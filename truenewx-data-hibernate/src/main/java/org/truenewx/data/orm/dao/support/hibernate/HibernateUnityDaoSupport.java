@@ -31,6 +31,11 @@ public abstract class HibernateUnityDaoSupport<T extends Unity<K>, K extends Ser
         return null;
     }
 
+    @Override
+    public final boolean isCached(final K id) {
+        return id != null && getHibernateTemplate().contains(getEntityName(), id);
+    }
+
     @SuppressWarnings("unchecked")
     protected final T find(final K id, final LockOptions lockOption) {
         return (T) getHibernateTemplate().getSession().get(getEntityName(), id, lockOption);
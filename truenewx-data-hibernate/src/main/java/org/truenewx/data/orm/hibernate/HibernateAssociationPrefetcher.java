@@ -0,0 +1,114 @@
+package org.truenewx.data.orm.hibernate;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.metadata.ClassMetadata;
+import org.hibernate.proxy.HibernateProxyHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.truenewx.data.orm.AssociationPrefetcher;
+
+/**
+ * Hibernate关联预取器<br/>
+ * 对每个关联路径执行以标识in条件限定的fetch join查询，查询结果与会话中已有的实体合并，从而一次性初始化实体集合的关联
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class HibernateAssociationPrefetcher implements AssociationPrefetcher {
+    /**
+     * 每条查询语句中的最大实体标识数量，以免超出数据库对in条件的数量限制
+     */
+    private static final int MAX_IN_SIZE = 500;
+
+    private HibernateTemplateFactory hibernateTemplateFactory;
+
+    @Autowired
+    public void setHibernateTemplateFactory(final HibernateTemplateFactory hibernateTemplateFactory) {
+        this.hibernateTemplateFactory = hibernateTemplateFactory;
+    }
+
+    @Override
+    public void prefetch(final Collection<?> entities, final String... associationPaths) {
+        if (entities == null || entities.isEmpty() || associationPaths.length == 0) {
+            return;
+        }
+        // 按实体名称分组收集标识
+        final Map<String, List<Serializable>> idMapping = new LinkedHashMap<>();
+        HibernateTemplate template = null;
+        for (final Object entity : entities) {
+            if (entity != null && Hibernate.isInitialized(entity)) {
+                if (template == null) {
+                    final Class<?> entityClass = HibernateProxyHelper
+                                    .getClassWithoutInitializingProxy(entity);
+                    template = this.hibernateTemplateFactory
+                                    .getHibernateTemplate(entityClass.getName());
+                    if (template == null) { // 无法确定所属会话工厂的实体不预取
+                        return;
+                    }
+                }
+                final Session session = template.getSession();
+                if (session.contains(entity)) {
+                    final String entityName = session.getEntityName(entity);
+                    List<Serializable> ids = idMapping.get(entityName);
+                    if (ids == null) {
+                        ids = new ArrayList<>();
+                        idMapping.put(entityName, ids);
+                    }
+                    ids.add(session.getIdentifier(entity));
+                }
+            }
+        }
+        if (template != null) {
+            for (final Entry<String, List<Serializable>> entry : idMapping.entrySet()) {
+                prefetch(template, entry.getKey(), entry.getValue(), associationPaths);
+            }
+        }
+    }
+
+    private void prefetch(final HibernateTemplate template, final String entityName,
+                    final List<Serializable> ids, final String[] associationPaths) {
+        final ClassMetadata metadata = template.getSessionFactory().getClassMetadata(entityName);
+        if (metadata == null || metadata.getIdentifierPropertyName() == null) {
+            return; // 不支持复合标识的实体
+        }
+        final String idProperty = metadata.getIdentifierPropertyName();
+        for (final String associationPath : associationPaths) {
+            final String hql = buildQl(entityName, idProperty, associationPath);
+            for (int from = 0; from < ids.size(); from += MAX_IN_SIZE) {
+                final List<Serializable> part = ids.subList(from,
+                                Math.min(from + MAX_IN_SIZE, ids.size()));
+                template.list(hql, "ids", new ArrayList<>(part));
+            }
+        }
+    }
+
+    /**
+     * 构建预取查询语句，多级路径逐级fetch join，如：user.department构建为<br/>
+     * select distinct e from Entity e left join fetch e.user a1 left join fetch a1.department a2
+     * where e.id in (:ids)
+     */
+    private String buildQl(final String entityName, final String idProperty,
+                    final String associationPath) {
+        final StringBuilder hql = new StringBuilder("select distinct e from ").append(entityName)
+                        .append(" e");
+        String alias = "e";
+        final String[] properties = associationPath.split("\\.");
+        for (int i = 0; i < properties.length; i++) {
+            final String nextAlias = "a" + (i + 1);
+            hql.append(" left join fetch ").append(alias).append('.').append(properties[i])
+                            .append(' ').append(nextAlias);
+            alias = nextAlias;
+        }
+        hql.append(" where e.").append(idProperty).append(" in (:ids)");
+        return hql.toString();
+    }
+
+}
@@ -1,28 +1,29 @@
 package org.truenewx.data.orm.hibernate;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.TypeHelper;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.type.Type;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.truenewx.core.enums.annotation.EnumValue;
+import org.truenewx.core.enums.support.EnumValueMapping;
 import org.truenewx.data.orm.DataAccessTemplate;
 import org.truenewx.hibernate.usertype.EnumValueMapType;
 
-import com.google.common.base.Enums;
-
 /**
  * Hibernate数据访问模板
  *
@@ -32,6 +33,10 @@ import com.google.common.base.Enums;
 public final class HibernateTemplate extends DataAccessTemplate {
 
     private SessionFactory sessionFactory;
+    /**
+     * 枚举类型-枚举值映射类型的映射集，每个枚举类型的映射类型只创建一次
+     */
+    private Map<Class<?>, Type> enumValueTypes = new ConcurrentHashMap<>();
 
     @Autowired(required = false)
     public void setSessionFactory(final SessionFactory sessionFactory) {
@@ -50,6 +55,22 @@ public final class HibernateTemplate extends DataAccessTemplate {
         return ((SessionFactoryImplementor) getSessionFactory()).getDialect();
     }
 
+    /**
+     * 判断当前会话中是否已缓存指定标识的实体，不会因此加载实体
+     *
+     * @param entityName
+     *            实体名称
+     * @param id
+     *            实体标识
+     * @return 当前会话中是否已缓存指定标识的实体
+     */
+    public boolean contains(final String entityName, final Serializable id) {
+        final SessionImplementor session = (SessionImplementor) getSession();
+        final EntityKey key = session.generateEntityKey(id,
+                session.getFactory().getEntityPersister(entityName));
+        return session.getPersistenceContext().containsEntity(key);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<T> list(final CharSequence ql, final String paramName, final Object paramValue,
@@ -163,14 +184,12 @@ public final class HibernateTemplate extends DataAccessTemplate {
                     collection.add(Array.get(value, i));
                 }
                 query.setParameterList(name, collection);
-            } else if (clazz.isEnum()) {
-                final Enum<?> enumConstant = (Enum<?>) value;
-                final Field field = Enums.getField(enumConstant);
-                final EnumValue ev = field.getAnnotation(EnumValue.class);
-                if (ev != null) { // 含有@EnumValue注解的枚举参数值，需通过自定义类型转换
-                    final Properties parameters = new Properties();
-                    parameters.put(EnumValueMapType.PARAMETER_CLASS, clazz.getName());
-                    query.setParameter(name, value, customType(EnumValueMapType.class, parameters));
+            } else if (value instanceof Enum) {
+                final Type type = getEnumValueType((Enum<?>) value);
+                if (type != null) { // 含有@EnumValue注解的枚举参数值，需通过自定义类型转换
+                    query.setParameter(name, value, type);
+                } else {
+                    query.setParameter(name, value);
                 }
             } else {
                 query.setParameter(name, value);
@@ -190,16 +209,12 @@ public final class HibernateTemplate extends DataAccessTemplate {
 
     public void applyParamToQuery(final Query query, final int position, final Object value) {
         if (value != null) {
-            final Class<? extends Object> clazz = value.getClass();
-            if (clazz.isEnum()) {
-                final Enum<?> enumConstant = (Enum<?>) value;
-                final Field field = Enums.getField(enumConstant);
-                final EnumValue ev = field.getAnnotation(EnumValue.class);
-                if (ev != null) { // 含有@EnumValue注解的枚举参数值，需通过自定义类型转换
-                    final Properties parameters = new Properties();
-                    parameters.put(EnumValueMapType.PARAMETER_CLASS, clazz.getName());
-                    query.setParameter(position, value,
-                            customType(EnumValueMapType.class, parameters));
+            if (value instanceof Enum) {
+                final Type type = getEnumValueType((Enum<?>) value);
+                if (type != null) { // 含有@EnumValue注解的枚举参数值，需通过自定义类型转换
+                    query.setParameter(position, value, type);
+                } else {
+                    query.setParameter(position, value);
                 }
             } else {
                 query.setParameter(position, value);
@@ -209,6 +224,28 @@ public final class HibernateTemplate extends DataAccessTemplate {
         }
     }
 
+    /**
+     * 获取指定枚举常量适用的枚举值映射类型
+     *
+     * @param enumConstant
+     *            枚举常量
+     * @return 枚举值映射类型，枚举常量没有@EnumValue注解时返回null
+     */
+    private Type getEnumValueType(final Enum<?> enumConstant) {
+        if (EnumValueMapping.getValue(enumConstant) == null) {
+            return null;
+        }
+        final Class<?> enumClass = enumConstant.getDeclaringClass();
+        Type type = this.enumValueTypes.get(enumClass);
+        if (type == null) {
+            final Properties parameters = new Properties();
+            parameters.put(EnumValueMapType.PARAMETER_CLASS, enumClass.getName());
+            type = customType(EnumValueMapType.class, parameters);
+            this.enumValueTypes.put(enumClass, type);
+        }
+        return type;
+    }
+
     public void applyPagingToQuery(final Query query, final int pageSize, int pageNo,
             final boolean oneMore) {
         if (pageSize > 0) { // 用页大小判断是否分页查询
@@ -1,5 +1,6 @@
 package org.truenewx.data.orm.hibernate;
 
+import java.io.File;
 import java.util.Map;
 import java.util.Properties;
 
@@ -16,6 +17,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.orm.hibernate4.LocalSessionFactoryBuilder;
 import org.truenewx.data.orm.OrmConstants;
 import org.truenewx.hibernate.cfg.MultiTableNamingStrategy;
+import org.truenewx.hibernate.functor.CatalogTableExistsPredicate;
 import org.truenewx.hibernate.functor.TableExistsPredicate;
 
 /**
@@ -34,6 +36,12 @@ public class LocalSessionFactoryBean
     private LocalSessionFactoryRegistry sessionFactoryRegistry;
     private ApplicationContext context;
     private boolean defaultNamingStrategy = true;
+    /**
+     * 默认的JDBC批处理大小，未在Hibernate属性中配置时使用
+     */
+    private int jdbcBatchSize = 50;
+    private File tableSnapshotFile;
+    private String schemaVersion;
 
     /**
      * @param schema
@@ -54,6 +62,30 @@ public class LocalSessionFactoryBean
         this.context = context;
     }
 
+    /**
+     * @param jdbcBatchSize
+     *            默认的JDBC批处理大小，仅在Hibernate属性中未配置时生效，小于等于0时不启用JDBC批处理
+     */
+    public void setJdbcBatchSize(final int jdbcBatchSize) {
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    /**
+     * @param tableSnapshotFile
+     *            多表名命名策略所用表目录的快照文件，与数据库模式版本同时设置时生效
+     */
+    public void setTableSnapshotFile(final File tableSnapshotFile) {
+        this.tableSnapshotFile = tableSnapshotFile;
+    }
+
+    /**
+     * @param schemaVersion
+     *            数据库模式版本，表结构变化时须变更，以使表目录快照文件失效
+     */
+    public void setSchemaVersion(final String schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
     @Override
     public void setNamingStrategy(final NamingStrategy namingStrategy) {
         super.setNamingStrategy(namingStrategy);
@@ -62,10 +94,24 @@ public class LocalSessionFactoryBean
 
     @Override
     protected SessionFactory buildSessionFactory(final LocalSessionFactoryBuilder sfb) {
+        final Properties settings = sfb.getProperties();
+        if (this.jdbcBatchSize > 0 && !settings.containsKey(AvailableSettings.STATEMENT_BATCH_SIZE)) {
+            // 启用JDBC批处理，并按实体排序插入和更新语句，使同一实体的语句尽可能合并在同一批次中
+            settings.put(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(this.jdbcBatchSize));
+            if (!settings.containsKey(AvailableSettings.ORDER_INSERTS)) {
+                settings.put(AvailableSettings.ORDER_INSERTS, Boolean.TRUE.toString());
+            }
+            if (!settings.containsKey(AvailableSettings.ORDER_UPDATES)) {
+                settings.put(AvailableSettings.ORDER_UPDATES, Boolean.TRUE.toString());
+            }
+        }
         if (this.defaultNamingStrategy) { // 如果使用的是默认的命名策略，则添加多表名支持的命名策略
             final Properties properties = sfb.getProperties();
             final Dialect dialect = Dialect.getDialect(properties);
-            final TableExistsPredicate predicate = getTableExistsPredicate(dialect);
+            // 以一次性获取的表目录进行断言，避免每个候选表名都查询一次数据库
+            final CatalogTableExistsPredicate predicate = new CatalogTableExistsPredicate(
+                            getTableExistsPredicate(dialect));
+            predicate.setSnapshot(this.tableSnapshotFile, this.schemaVersion);
             final DataSource dataSource = (DataSource) properties.get(AvailableSettings.DATASOURCE);
             sfb.setNamingStrategy(new MultiTableNamingStrategy(dataSource, predicate));
         }
@@ -1,9 +1,11 @@
 package org.truenewx.data.orm.hibernate;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.sql.DataSource;
 
@@ -21,28 +23,18 @@ import org.truenewx.data.jdbc.datasource.DataSourceLookup;
 import org.truenewx.data.orm.OrmConstants;
 
 /**
- * 持久化配置程序
+ * 持久化配置程序<br/>
+ * 注册会话工厂时即构建实体名称、实体类型到模式、持久化类信息和会话工厂的不可变索引，
+ * 并以整体替换的方式发布，查询时无需加锁也无需遍历配置。切分实体以各自的实体名称映射，同样包含在索引中
  *
  * @author jianglei
  * @since JDK 1.8
  */
 public class LocalSessionFactoryRegistry implements DataSourceLookup {
     /**
-     * 模式-配置的映射集
+     * 当前索引，每次注册后整体替换
      */
-    private Map<String, Configuration> configurationMapping = new HashMap<>();
-    /**
-     * 模式-会话工厂的映射集
-     */
-    private Map<String, SessionFactory> sessionFactoryMapping = new HashMap<>();
-    /**
-     * 实体-模式的映射集
-     */
-    private Map<String, String> entitySchemaMapping = new HashMap<>();
-    /**
-     * 实体类型-持久化类信息的映射集
-     */
-    private Map<Class<?>, PersistentClass> persistentClassMapping = new HashMap<>();
+    private volatile Index index = new Index();
 
     /**
      * 注册会话工厂
@@ -54,43 +46,32 @@ public class LocalSessionFactoryRegistry implements DataSourceLookup {
      * @param sessionFactory
      *            会话工厂
      */
-    void register(String schema, final Configuration configuration,
+    synchronized void register(String schema, final Configuration configuration,
             final SessionFactory sessionFactory) {
         if (StringUtils.isBlank(schema)) {
             schema = OrmConstants.DEFAULT_SCHEMA_NAME;
         }
         // 不能存在重复的模式
-        Assert.isTrue(!this.configurationMapping.containsKey(schema));
-        this.configurationMapping.put(schema, configuration);
-        Assert.isTrue(!this.sessionFactoryMapping.containsKey(schema));
-        this.sessionFactoryMapping.put(schema, sessionFactory);
+        Assert.isTrue(!this.index.configurations.containsKey(schema));
+        this.index = new Index(this.index, schema, configuration, sessionFactory);
     }
 
     public String getSchema(final String entityName) {
-        String schema = this.entitySchemaMapping.get(entityName);
-        if (schema == null) { // 实体所属模式未知，则依次在各模式配置中查找
-            for (final Entry<String, Configuration> entry : this.configurationMapping.entrySet()) {
-                if (entry.getValue().getClassMapping(entityName) != null) { // 在某个配置中找到，则缓存实体名称-模式的映射，并返回结果
-                    schema = entry.getKey();
-                    this.entitySchemaMapping.put(entityName, schema);
-                    break;
-                }
-            }
-        }
-        return schema;
+        final Mapping mapping = this.index.entityMappings.get(entityName);
+        return mapping == null ? null : mapping.schema;
     }
 
     public SessionFactory getSessionFactory(final String schema) {
         if (schema != null) {
-            return this.sessionFactoryMapping.get(schema);
+            return this.index.sessionFactories.get(schema);
         }
         return null;
     }
 
     @Override
     public DataSource getDataSource(final String entityName) {
-        final String schema = getSchema(entityName);
-        final SessionFactory sessionFactory = getSessionFactory(schema);
+        final Mapping mapping = this.index.entityMappings.get(entityName);
+        final SessionFactory sessionFactory = mapping == null ? null : mapping.sessionFactory;
         if (sessionFactory instanceof SessionFactoryImplementor) {
             final SessionFactoryImplementor sfi = (SessionFactoryImplementor) sessionFactory;
             return (DataSource) sfi.getProperties().get(AvailableSettings.DATASOURCE);
@@ -104,34 +85,23 @@ public class LocalSessionFactoryRegistry implements DataSourceLookup {
         return persistentClass == null ? null : persistentClass.getPropertyIterator();
     }
 
+    /**
+     * 获取所有模式配置中已映射的实体类型集
+     *
+     * @return 已映射的实体类型集
+     */
+    public Set<Class<?>> getMappedClasses() {
+        return this.index.classMappings.keySet();
+    }
+
     private PersistentClass getClassMapping(final Class<?> entityClass) {
-        PersistentClass persistentClass = this.persistentClassMapping.get(entityClass);
-        if (persistentClass == null) { // 如果缓存中没有，则依次遍历配置查找
-            for (final Entry<String, Configuration> entry : this.configurationMapping.entrySet()) {
-                final Configuration configuration = entry.getValue();
-                final Iterator<PersistentClass> iterator = configuration.getClassMappings();
-                while (iterator.hasNext()) {
-                    persistentClass = iterator.next();
-                    if (persistentClass.getMappedClass() == entityClass) {
-                        // 匹配，则缓存并返回
-                        this.persistentClassMapping.put(entityClass, persistentClass);
-                        return persistentClass;
-                    }
-                }
-            }
-        }
-        return null;
+        final Mapping mapping = this.index.classMappings.get(entityClass);
+        return mapping == null ? null : mapping.persistentClass;
     }
 
     private PersistentClass getClassMapping(final String entityName) {
-        final String schema = getSchema(entityName);
-        if (schema != null) {
-            final Configuration configuration = this.configurationMapping.get(schema);
-            if (configuration != null) {
-                return configuration.getClassMapping(entityName);
-            }
-        }
-        return null;
+        final Mapping mapping = this.index.entityMappings.get(entityName);
+        return mapping == null ? null : mapping.persistentClass;
     }
 
     public String getTableName(final String entityName) {
@@ -177,4 +147,81 @@ public class LocalSessionFactoryRegistry implements DataSourceLookup {
     public Column getColumn(final String entityName, final String propertyName) {
         return getColumn(entityName, propertyName, 0);
     }
+
+    /**
+     * 实体映射信息
+     */
+    private static class Mapping {
+        private final String schema;
+        private final PersistentClass persistentClass;
+        private final SessionFactory sessionFactory;
+
+        public Mapping(final String schema, final PersistentClass persistentClass,
+                final SessionFactory sessionFactory) {
+            this.schema = schema;
+            this.persistentClass = persistentClass;
+            this.sessionFactory = sessionFactory;
+        }
+    }
+
+    /**
+     * 不可变的注册信息索引
+     */
+    private static class Index {
+        /**
+         * 模式-配置的映射集
+         */
+        private final Map<String, Configuration> configurations;
+        /**
+         * 模式-会话工厂的映射集
+         */
+        private final Map<String, SessionFactory> sessionFactories;
+        /**
+         * 实体名称-实体映射信息的映射集，包括切分实体的各个实体名称
+         */
+        private final Map<String, Mapping> entityMappings;
+        /**
+         * 实体类型-实体映射信息的映射集，同一实体类型有多个实体名称时取先注册者
+         */
+        private final Map<Class<?>, Mapping> classMappings;
+
+        public Index() {
+            this.configurations = Collections.emptyMap();
+            this.sessionFactories = Collections.emptyMap();
+            this.entityMappings = Collections.emptyMap();
+            this.classMappings = Collections.emptyMap();
+        }
+
+        /**
+         * 在指定索引的基础上加入指定模式的注册信息，构建新的索引
+         */
+        @SuppressWarnings("unchecked")
+        public Index(final Index base, final String schema, final Configuration configuration,
+                final SessionFactory sessionFactory) {
+            final Map<String, Configuration> configurations = new HashMap<>(base.configurations);
+            configurations.put(schema, configuration);
+            final Map<String, SessionFactory> sessionFactories = new HashMap<>(
+                    base.sessionFactories);
+            sessionFactories.put(schema, sessionFactory);
+            final Map<String, Mapping> entityMappings = new HashMap<>(base.entityMappings);
+            final Map<Class<?>, Mapping> classMappings = new LinkedHashMap<>(base.classMappings);
+            final Iterator<PersistentClass> iterator = configuration.getClassMappings();
+            while (iterator.hasNext()) {
+                final PersistentClass persistentClass = iterator.next();
+                final Mapping mapping = new Mapping(schema, persistentClass, sessionFactory);
+                // 不同模式中存在同名实体时以先注册者为准，与原先的遍历查找结果一致
+                if (!entityMappings.containsKey(persistentClass.getEntityName())) {
+                    entityMappings.put(persistentClass.getEntityName(), mapping);
+                }
+                final Class<?> mappedClass = persistentClass.getMappedClass();
+                if (mappedClass != null && !classMappings.containsKey(mappedClass)) {
+                    classMappings.put(mappedClass, mapping);
+                }
+            }
+            this.configurations = Collections.unmodifiableMap(configurations);
+            this.sessionFactories = Collections.unmodifiableMap(sessionFactories);
+            this.entityMappings = Collections.unmodifiableMap(entityMappings);
+            this.classMappings = Collections.unmodifiableMap(classMappings);
+        }
+    }
 }
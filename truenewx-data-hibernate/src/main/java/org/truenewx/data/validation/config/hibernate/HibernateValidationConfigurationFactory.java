@@ -5,12 +5,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import javax.validation.Constraint;
 
@@ -18,6 +22,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Property;
 import org.hibernate.validator.constraints.NotBlank;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -38,7 +44,8 @@ import org.truenewx.data.validation.rule.ValidationRule;
 import org.truenewx.data.validation.rule.builder.ValidationRuleBuilder;
 
 /**
- * 校验配置工厂实现
+ * 校验配置工厂实现<br>
+ * 容器初始化完成后预先构建所有实体和指定模型的校验设置，构建完成的校验设置均已封闭，读取时无需加锁
  *
  * @author jianglei
  * @since JDK 1.8
@@ -46,8 +53,19 @@ import org.truenewx.data.validation.rule.builder.ValidationRuleBuilder;
 public class HibernateValidationConfigurationFactory
                 implements ValidationConfigurationFactory, ContextInitializedBean {
     private LocalSessionFactoryRegistry sessionFactoryRegistry;
-    private Map<Class<? extends Model>, ValidationConfiguration> configurations = new HashMap<>();
+    private Map<Class<? extends Model>, ValidationConfiguration> configurations = new ConcurrentHashMap<>();
+    /**
+     * 模型类-构建锁的映射集，保证同一模型类的校验设置只构建一次
+     */
+    private Map<Class<? extends Model>, Object> buildLocks = new ConcurrentHashMap<>();
+    /**
+     * 模型类-构建耗时（毫秒）的映射集
+     */
+    private Map<Class<? extends Model>, Long> buildTimes = new ConcurrentHashMap<>();
     private Map<Class<Annotation>, ValidationRuleBuilder<?>> ruleBuilders = new HashMap<>();
+    private Set<Class<? extends Model>> preloadedModelClasses = new LinkedHashSet<>();
+    private boolean parallelPreload;
+    private Logger logger = LoggerFactory.getLogger(getClass());
 
     @Autowired
     public void setSessionFactoryRegistry(
@@ -66,19 +84,57 @@ public class HibernateValidationConfigurationFactory
         }
     }
 
+    /**
+     * 设置需在容器初始化完成后预先构建校验设置的模型类集，所有已映射的实体类总是会被预先构建
+     *
+     * @param preloadedModelClasses
+     *            预先构建校验设置的模型类集
+     */
+    public void setPreloadedModelClasses(
+                    final Collection<Class<? extends Model>> preloadedModelClasses) {
+        this.preloadedModelClasses.addAll(preloadedModelClasses);
+    }
+
+    /**
+     * @param parallelPreload
+     *            是否并行预先构建校验设置，默认为false
+     */
+    public void setParallelPreload(final boolean parallelPreload) {
+        this.parallelPreload = parallelPreload;
+    }
+
+    /**
+     *
+     * @return 已构建的模型类-构建耗时（毫秒）的映射集
+     */
+    public Map<Class<? extends Model>, Long> getBuildTimes() {
+        return Collections.unmodifiableMap(this.buildTimes);
+    }
+
     private boolean isConstraintAnnotation(final Class<?> annoClass) {
         return annoClass.getAnnotation(Constraint.class) != null;
     }
 
     @Override
-    public synchronized ValidationConfiguration getConfiguration(
-                    final Class<? extends Model> modelClass) {
+    public ValidationConfiguration getConfiguration(final Class<? extends Model> modelClass) {
         ValidationConfiguration configuration = this.configurations.get(modelClass);
         if (configuration == null) {
-            configuration = buildConfiguration(modelClass);
-            if (configuration != null) {
-                this.configurations.put(modelClass, configuration);
+            // 同一模型类只由一个线程构建，不同模型类可并发构建。不使用computeIfAbsent，因为传输模型的构建会递归获取实体的校验设置
+            final Object lock = this.buildLocks.computeIfAbsent(modelClass, key -> new Object());
+            synchronized (lock) {
+                configuration = this.configurations.get(modelClass);
+                if (configuration == null) {
+                    final long startTime = System.currentTimeMillis();
+                    configuration = buildConfiguration(modelClass);
+                    configuration.seal();
+                    final long time = System.currentTimeMillis() - startTime;
+                    this.buildTimes.put(modelClass, time);
+                    this.logger.debug("Built validation configuration of {} in {}ms",
+                                    modelClass.getName(), time);
+                    this.configurations.put(modelClass, configuration);
+                }
             }
+            this.buildLocks.remove(modelClass, lock);
         }
         return configuration;
     }
@@ -306,6 +362,38 @@ public class HibernateValidationConfigurationFactory
                 }
             }
         }
+        preload();
+    }
+
+    /**
+     * 预先构建所有已映射的实体类和指定模型类的校验设置
+     */
+    @SuppressWarnings("unchecked")
+    private void preload() {
+        final Set<Class<? extends Model>> modelClasses = new LinkedHashSet<>();
+        if (this.sessionFactoryRegistry != null) {
+            for (final Class<?> mappedClass : this.sessionFactoryRegistry.getMappedClasses()) {
+                if (Entity.class.isAssignableFrom(mappedClass)) {
+                    modelClasses.add((Class<? extends Model>) mappedClass);
+                }
+            }
+        }
+        modelClasses.addAll(this.preloadedModelClasses);
+        final long startTime = System.currentTimeMillis();
+        Stream<Class<? extends Model>> stream = modelClasses.stream();
+        if (this.parallelPreload) {
+            stream = stream.parallel();
+        }
+        stream.forEach(modelClass -> {
+            try {
+                getConfiguration(modelClass);
+            } catch (final Exception e) { // 单个模型类构建失败不影响其它模型类，使用时将再次尝试构建
+                this.logger.error("Failed to build validation configuration of "
+                                + modelClass.getName(), e);
+            }
+        });
+        this.logger.info("Preloaded {} validation configurations in {}ms", modelClasses.size(),
+                        System.currentTimeMillis() - startTime);
     }
 
 }
@@ -0,0 +1,159 @@
+package org.truenewx.hibernate.functor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.Dialect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 基于数据库表目录快照的表存在断言<br/>
+ * 首次断言时通过一次{@link DatabaseMetaData#getTables}调用获取数据库中的全部表名，之后的断言均只在内存中判断；
+ * 获取失败时退回到逐表查询的断言。<br/>
+ * 可指定快照文件，以便在数据库模式版本未变化时直接从文件加载表目录，不访问数据库
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class CatalogTableExistsPredicate implements TableExistsPredicate {
+
+    private static final String VERSION_PREFIX = "#version=";
+
+    private TableExistsPredicate delegate;
+    private File snapshotFile;
+    private String schemaVersion;
+    private DataSource catalogDataSource;
+    private Set<String> tableNames;
+    private Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     *
+     * @param delegate
+     *            无法获取表目录时使用的逐表查询断言，为null时无法获取表目录则视为表均存在
+     */
+    public CatalogTableExistsPredicate(final TableExistsPredicate delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * 设置表目录快照文件及数据库模式版本。快照文件中记录的模式版本与指定模式版本一致时，直接从快照文件加载表目录；
+     * 否则从数据库获取表目录后写入快照文件。数据库表结构变化时须同时变更模式版本
+     *
+     * @param snapshotFile
+     *            快照文件
+     * @param schemaVersion
+     *            数据库模式版本
+     */
+    public void setSnapshot(final File snapshotFile, final String schemaVersion) {
+        this.snapshotFile = snapshotFile;
+        this.schemaVersion = schemaVersion;
+    }
+
+    @Override
+    public Class<? extends Dialect> getDialectClass() {
+        return this.delegate == null ? Dialect.class : this.delegate.getDialectClass();
+    }
+
+    @Override
+    public boolean exists(final DataSource dataSource, final String tableName) {
+        final Set<String> tableNames = getTableNames(dataSource);
+        if (tableNames == null) {
+            return this.delegate == null || this.delegate.exists(dataSource, tableName);
+        }
+        // 未加引号的标识符在不同数据库中可能被转换为大写或小写存储
+        return tableNames.contains(tableName) || tableNames.contains(tableName.toUpperCase())
+                        || tableNames.contains(tableName.toLowerCase());
+    }
+
+    private synchronized Set<String> getTableNames(final DataSource dataSource) {
+        if (this.catalogDataSource != dataSource) {
+            // 快照文件只对应首个数据源
+            final boolean snapshotable = this.catalogDataSource == null;
+            this.tableNames = snapshotable ? readSnapshot() : null;
+            if (this.tableNames == null) {
+                this.tableNames = loadTableNames(dataSource);
+                if (snapshotable && this.tableNames != null) {
+                    writeSnapshot(this.tableNames);
+                }
+            }
+            // 获取失败时同样记录数据源，以免每次断言都重复获取
+            this.catalogDataSource = dataSource;
+        }
+        return this.tableNames;
+    }
+
+    private Set<String> loadTableNames(final DataSource dataSource) {
+        final long startTime = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection()) {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final Set<String> tableNames = new HashSet<>();
+            try (ResultSet rs = metaData.getTables(connection.getCatalog(), null, "%",
+                            new String[] { "TABLE", "VIEW" })) {
+                while (rs.next()) {
+                    tableNames.add(rs.getString("TABLE_NAME"));
+                }
+            }
+            this.logger.info("Loaded {} table names from database in {}ms", tableNames.size(),
+                            System.currentTimeMillis() - startTime);
+            return Collections.unmodifiableSet(tableNames);
+        } catch (final SQLException e) {
+            this.logger.warn("Failed to load table names from database, checking tables one by one",
+                            e);
+            return null;
+        }
+    }
+
+    private Set<String> readSnapshot() {
+        if (this.snapshotFile == null || this.schemaVersion == null
+                        || !this.snapshotFile.isFile()) {
+            return null;
+        }
+        try {
+            final List<String> lines = Files.readAllLines(this.snapshotFile.toPath(),
+                            StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(VERSION_PREFIX + this.schemaVersion)) {
+                return null; // 模式版本已变化，快照失效
+            }
+            final Set<String> tableNames = new HashSet<>(lines.subList(1, lines.size()));
+            this.logger.info("Loaded {} table names from snapshot {}", tableNames.size(),
+                            this.snapshotFile);
+            return Collections.unmodifiableSet(tableNames);
+        } catch (final IOException e) {
+            this.logger.warn("Failed to read table snapshot " + this.snapshotFile, e);
+            return null;
+        }
+    }
+
+    private void writeSnapshot(final Set<String> tableNames) {
+        if (this.snapshotFile == null || this.schemaVersion == null) {
+            return;
+        }
+        final List<String> lines = new ArrayList<>(tableNames.size() + 1);
+        lines.add(VERSION_PREFIX + this.schemaVersion);
+        lines.addAll(tableNames);
+        try {
+            final File dir = this.snapshotFile.getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+            Files.write(this.snapshotFile.toPath(), lines, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            this.logger.warn("Failed to write table snapshot " + this.snapshotFile, e);
+        }
+    }
+
+}
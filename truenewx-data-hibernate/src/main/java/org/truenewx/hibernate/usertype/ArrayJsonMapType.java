@@ -3,11 +3,14 @@ package org.truenewx.hibernate.usertype;
 import java.lang.reflect.Array;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
-import org.truenewx.core.util.JsonUtil;
 
 /**
  * 对象数组-JSON字符串映射类型
@@ -17,6 +20,19 @@ import org.truenewx.core.util.JsonUtil;
  */
 public class ArrayJsonMapType extends ObjectComponentMapType {
 
+    /**
+     * 元素类型的空数组，空数组不可变，可共享
+     */
+    private Object[] emptyArray = ArrayUtils.EMPTY_OBJECT_ARRAY;
+
+    @Override
+    public void setParameterValues(final Properties parameters) {
+        super.setParameterValues(parameters);
+        if (this.componentType != null) {
+            this.emptyArray = (Object[]) Array.newInstance(this.componentType, 0);
+        }
+    }
+
     @Override
     public Class<?> returnedClass() {
         return Object[].class;
@@ -29,18 +45,11 @@ public class ArrayJsonMapType extends ObjectComponentMapType {
         final String value = rs.getString(names[0]);
         if (StringUtils.isNotBlank(value)) {
             if ("[]".equals(value)) {
-                if (this.componentType == null) {
-                    return new Object[0];
-                } else {
-                    return Array.newInstance(this.componentType, 0);
-                }
+                return this.emptyArray;
             }
             try {
-                if (this.componentType == null) {
-                    return JsonUtil.json2Array(value);
-                } else {
-                    return JsonUtil.json2Array(value, this.componentType);
-                }
+                final List<Object> list = parseArray(value, new ArrayList<>());
+                return list == null ? null : list.toArray(this.emptyArray);
             } catch (final Exception e) {
                 e.printStackTrace();
             }
@@ -1,6 +1,5 @@
 package org.truenewx.hibernate.usertype;
 
-import java.lang.reflect.Array;
 import java.sql.Types;
 import java.util.Properties;
 
@@ -48,9 +47,94 @@ public abstract class ArrayMapType extends AbstractUserType implements Parameter
         if (value == null) {
             return null;
         }
-        final int length = ((Object[]) value).length;
-        final Object result = Array.newInstance(returnedClass().getComponentType(), length);
-        System.arraycopy(value, 0, result, 0, length);
-        return result;
+        final Object[] array = (Object[]) value;
+        // 空数组不可变，无需复制；clone()保留数组的实际元素类型，无需反射创建数组
+        return array.length == 0 ? array : array.clone();
+    }
+
+    /**
+     * 获取以逗号分隔的指定字符串中各元素的结束位置（不包含），与{@link String#split(String)}一致地忽略末尾的空元素
+     *
+     * @param value
+     *            以逗号分隔的字符串
+     * @return 各元素的结束位置，下一元素的起始位置为上一元素的结束位置+1
+     */
+    protected static int[] getElementEnds(final String value) {
+        if (value.isEmpty()) {
+            return new int[] { 0 };
+        }
+        int count = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == ',') {
+                count++;
+            }
+        }
+        final int[] ends = new int[count];
+        int index = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == ',') {
+                ends[index++] = i;
+            }
+        }
+        ends[index] = value.length();
+        // 去掉末尾的空元素
+        int length = count;
+        while (length > 0 && ends[length - 1] == (length == 1 ? 0 : ends[length - 2] + 1)) {
+            length--;
+        }
+        if (length < count) {
+            final int[] result = new int[length];
+            System.arraycopy(ends, 0, result, 0, length);
+            return result;
+        }
+        return ends;
+    }
+
+    /**
+     * 解析指定字符串中指定范围内的整数，仅由可选的负号和数字组成且不会溢出时直接计算，其它情况与
+     * {@link MathUtil#parseInt(String)}一致
+     */
+    protected static int parseInt(final String value, final int begin, final int end) {
+        int i = begin;
+        final boolean negative = i < end && value.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end || end - i > 9) {
+            return MathUtil.parseInt(value.substring(begin, end));
+        }
+        int result = 0;
+        for (; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return MathUtil.parseInt(value.substring(begin, end));
+            }
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * 解析指定字符串中指定范围内的长整数，仅由可选的负号和数字组成且不会溢出时直接计算，其它情况与
+     * {@link MathUtil#parseLong(String)}一致
+     */
+    protected static long parseLong(final String value, final int begin, final int end) {
+        int i = begin;
+        final boolean negative = i < end && value.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            return MathUtil.parseLong(value.substring(begin, end));
+        }
+        long result = 0;
+        for (; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return MathUtil.parseLong(value.substring(begin, end));
+            }
+            result = result * 10 + (c - '0');
+        }
+        return negative ? -result : result;
     }
 }
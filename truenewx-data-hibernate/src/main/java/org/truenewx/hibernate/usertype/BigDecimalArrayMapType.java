@@ -30,10 +30,12 @@ public class BigDecimalArrayMapType extends ArrayMapType {
                     throws HibernateException, SQLException {
         final String value = rs.getString(names[0]);
         if (value != null) {
-            final String[] array = value.split(Strings.COMMA);
-            final BigDecimal[] result = new BigDecimal[array.length];
-            for (int i = 0; i < array.length; i++) {
-                result[i] = MathUtil.parseDecimal(array[i]);
+            final int[] ends = getElementEnds(value);
+            final BigDecimal[] result = new BigDecimal[ends.length];
+            int begin = 0;
+            for (int i = 0; i < ends.length; i++) {
+                result[i] = MathUtil.parseDecimal(value.substring(begin, ends[i]));
+                begin = ends[i] + 1;
             }
             return result;
         }
@@ -60,9 +62,8 @@ public class BigDecimalArrayMapType extends ArrayMapType {
             return null;
         }
         final BigDecimal[] array = (BigDecimal[]) value;
-        final BigDecimal[] result = new BigDecimal[array.length];
-        System.arraycopy(array, 0, result, 0, array.length);
-        return result;
+        // 元素不可变，浅复制即可
+        return array.length == 0 ? array : array.clone();
     }
 
 }
@@ -45,11 +45,6 @@ public class DateArrayMapType extends ArrayMapType {
                     throws HibernateException, SQLException {
         final String value = rs.getString(names[0]);
         if (value != null) {
-            final String[] array = value.split(Strings.COMMA);
-            final Date[] result = new Date[array.length];
-            for (int i = 0; i < array.length; i++) {
-                result[i] = DateUtil.parse(array[i], this.funcFormatDate.getPattern());
-            }
             return AlgoSplit.visit(value, Strings.COMMA, this.funcParseDate, Date.class);
         }
         return null;
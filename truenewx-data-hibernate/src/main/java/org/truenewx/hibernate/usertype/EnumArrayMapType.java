@@ -10,7 +10,7 @@ import java.util.Properties;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.truenewx.core.Strings;
-import org.truenewx.core.enums.support.functor.AlgoEnumValueOf;
+import org.truenewx.core.enums.support.EnumValueMapping;
 import org.truenewx.core.enums.support.functor.FuncEnumValue;
 import org.truenewx.core.functor.algorithm.impl.AlgoJoin;
 import org.truenewx.core.functor.impl.PredEqual;
@@ -71,9 +71,10 @@ public class EnumArrayMapType extends EnumValueMapType {
         if (value != null) {
             final String[] array = value.split(Strings.COMMA);
             final Class<Enum<?>> enumClass = getEnumClass(owner);
+            final EnumValueMapping mapping = getEnumValueMapping(owner);
             final Object[] result = (Object[]) Array.newInstance(enumClass, array.length);
             for (int i = 0; i < array.length; i++) {
-                result[i] = AlgoEnumValueOf.visit(enumClass, array[i]);
+                result[i] = mapping.getConstant(array[i]);
                 if (result[i] == null) {
                     throw new NullPointerException();
                 }
@@ -11,9 +11,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.usertype.ParameterizedType;
+import org.truenewx.core.enums.support.EnumValueMapping;
 import org.truenewx.core.enums.support.IllegalEnumValueException;
-import org.truenewx.core.enums.support.functor.AlgoEnumValueOf;
-import org.truenewx.core.enums.support.functor.FuncEnumValue;
 import org.truenewx.core.util.ClassUtil;
 
 import com.google.common.base.Preconditions;
@@ -32,6 +31,7 @@ public class EnumValueMapType extends AbstractUserType implements ParameterizedT
 
     private String propertyName;
     protected Class<Enum<?>> enumClass;
+    private EnumValueMapping enumValueMapping;
 
     @Override
     @SuppressWarnings("unchecked")
@@ -87,16 +87,25 @@ public class EnumValueMapType extends AbstractUserType implements ParameterizedT
         return this.enumClass;
     }
 
+    /**
+     * 获取枚举值映射表，枚举类型确定后即不再变化
+     */
+    protected EnumValueMapping getEnumValueMapping(final Object owner) {
+        if (this.enumValueMapping == null) {
+            this.enumValueMapping = EnumValueMapping.of(getEnumClass(owner));
+        }
+        return this.enumValueMapping;
+    }
+
     @Override
     public Object nullSafeGet(final ResultSet rs, final String[] names,
                     final SessionImplementor session, final Object owner)
                     throws HibernateException, SQLException {
         final String value = rs.getString(names[0]);
         if (value != null) {
-            final Class<Enum<?>> enumClass = getEnumClass(owner);
-            final Object result = AlgoEnumValueOf.visit(enumClass, value);
+            final Object result = getEnumValueMapping(owner).getConstant(value);
             if (result == null) {
-                throw new IllegalEnumValueException(enumClass, value);
+                throw new IllegalEnumValueException(getEnumClass(owner), value);
             }
             return result;
         }
@@ -107,8 +116,7 @@ public class EnumValueMapType extends AbstractUserType implements ParameterizedT
     public void nullSafeSet(final PreparedStatement st, final Object value, final int index,
                     final SessionImplementor session) throws HibernateException, SQLException {
         if (value != null) {
-            final Enum<?> enumConstant = (Enum<?>) value;
-            final String enumValue = FuncEnumValue.INSTANCE.apply(enumConstant);
+            final String enumValue = EnumValueMapping.getValue((Enum<?>) value);
             if (enumValue == null) {
                 throw new NullPointerException();
             }
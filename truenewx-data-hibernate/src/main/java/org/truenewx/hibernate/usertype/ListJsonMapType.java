@@ -8,7 +8,6 @@ import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
-import org.truenewx.core.util.JsonUtil;
 
 /**
  * List-JSON字符串映射类型
@@ -33,11 +32,7 @@ public class ListJsonMapType extends ObjectComponentMapType {
                 return new ArrayList<>();
             }
             try {
-                if (this.componentType == null) {
-                    return JsonUtil.json2List(value);
-                } else {
-                    return JsonUtil.json2List(value, this.componentType);
-                }
+                return parseArray(value, new ArrayList<>());
             } catch (final Exception e) {
                 e.printStackTrace();
             }
@@ -6,9 +6,6 @@ import java.sql.SQLException;
 
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
-import org.truenewx.core.Strings;
-import org.truenewx.core.util.MathUtil;
-import org.truenewx.core.util.StringUtil;
 
 /**
  * 原始长整型数组映射类型
@@ -29,10 +26,13 @@ public class LongArrayMapType extends ArrayMapType {
                     throws HibernateException, SQLException {
         final String value = rs.getString(names[0]);
         if (value != null) {
-            final String[] array = value.split(Strings.COMMA);
-            final long[] result = new long[array.length];
-            for (int i = 0; i < array.length; i++) {
-                result[i] = MathUtil.parseLong(array[i]);
+            // 直接在原字符串上定位和解析各元素，不拆分出子字符串
+            final int[] ends = getElementEnds(value);
+            final long[] result = new long[ends.length];
+            int begin = 0;
+            for (int i = 0; i < ends.length; i++) {
+                result[i] = parseLong(value, begin, ends[i]);
+                begin = ends[i] + 1;
             }
             return result;
         }
@@ -47,7 +47,14 @@ public class LongArrayMapType extends ArrayMapType {
             if (this.size > 0 && array.length > this.size) {
                 throw getSizeException();
             }
-            st.setString(index, StringUtil.join(Strings.COMMA, array));
+            final StringBuilder sb = new StringBuilder(array.length * 8);
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(array[i]);
+            }
+            st.setString(index, sb.toString());
         } else {
             st.setString(index, null);
         }
@@ -59,9 +66,7 @@ public class LongArrayMapType extends ArrayMapType {
             return null;
         }
         final long[] array = (long[]) value;
-        final long[] result = new long[array.length];
-        System.arraycopy(array, 0, result, 0, array.length);
-        return result;
+        return array.length == 0 ? array : array.clone();
     }
 
 }
@@ -38,7 +38,7 @@ public class MapJsonMapType extends AbstractUserType {
         final String value = rs.getString(names[0]);
         if (StringUtils.isNotBlank(value)) {
             try {
-                return JsonUtil.json2Map(value);
+                return parseMap(value);
             } catch (final Exception e) {
                 e.printStackTrace();
             }
@@ -46,6 +46,17 @@ public class MapJsonMapType extends AbstractUserType {
         return null;
     }
 
+    /**
+     * 解析指定JSON字符串为Map，子类可覆写以直接解析为其它类型的Map
+     *
+     * @param json
+     *            JSON字符串
+     * @return Map
+     */
+    protected Map<?, ?> parseMap(final String json) {
+        return JsonUtil.json2Map(json);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void nullSafeSet(final PreparedStatement st, final Object value, final int index,
@@ -3,6 +3,7 @@ package org.truenewx.hibernate.usertype;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Collection;
 import java.util.Properties;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -14,6 +15,10 @@ import org.truenewx.core.Strings;
 import org.truenewx.core.util.ArrayUtil;
 import org.truenewx.core.util.JsonUtil;
 
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.JSONToken;
+import com.alibaba.fastjson.parser.ParserConfig;
+
 /**
  * 对象元素集合映射类型
  *
@@ -40,6 +45,34 @@ public abstract class ObjectComponentMapType extends AbstractUserType implements
         }
     }
 
+    /**
+     * 将指定JSON数组字符串中的元素直接解析到指定集合中，不经过中间集合。未指定元素类型时元素解析为JSON对象
+     *
+     * @param json
+     *            JSON数组字符串
+     * @param collection
+     *            目标集合
+     * @return 目标集合，JSON字符串为null时返回null
+     */
+    protected <C extends Collection<Object>> C parseArray(final String json, final C collection) {
+        final DefaultJSONParser parser = new DefaultJSONParser(json,
+                ParserConfig.getGlobalInstance());
+        try {
+            if (parser.getLexer().token() == JSONToken.NULL) {
+                return null;
+            }
+            if (this.componentType == null) {
+                parser.parseArray(collection);
+            } else {
+                parser.parseArray(this.componentType, collection);
+            }
+            parser.handleResovleTask(collection);
+            return collection;
+        } finally {
+            parser.close();
+        }
+    }
+
     @Override
     public int[] sqlTypes() {
         return new int[] { Types.VARCHAR };
@@ -3,13 +3,11 @@ package org.truenewx.hibernate.usertype;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
-import org.truenewx.core.util.JsonUtil;
 
 /**
  * Set-JSON字符串映射类型
@@ -34,13 +32,8 @@ public class SetJsonMapType extends ObjectComponentMapType {
                 return new HashSet<>();
             }
             try {
-                List<?> list;
-                if (this.componentType == null) {
-                    list = JsonUtil.json2List(value);
-                } else {
-                    list = JsonUtil.json2List(value, this.componentType);
-                }
-                return new HashSet<>(list);
+                // 直接解析到HashSet中，无需先解析为List再复制
+                return parseArray(value, new HashSet<>());
             } catch (final Exception e) {
                 e.printStackTrace();
             }
@@ -5,7 +5,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
@@ -19,6 +21,7 @@ import org.truenewx.core.Strings;
 import org.truenewx.core.util.ClassUtil;
 import org.truenewx.core.util.CollectionUtil;
 import org.truenewx.core.util.FilteredTokens;
+import org.truenewx.core.util.MultiStringMatcher;
 import org.truenewx.data.validation.constraint.NotContains;
 import org.truenewx.data.validation.constraint.NotContainsAngleBracket;
 import org.truenewx.data.validation.constraint.NotContainsHtmlChars;
@@ -35,8 +38,9 @@ import org.truenewx.data.validation.constraint.TagLimit;
 public class StringMapType extends AbstractUserType implements ParameterizedType {
 
     private String propertyName;
-    private String[] notContains;
+    private MultiStringMatcher notContainsMatcher;
     private FilteredTokens filteredTags;
+    private MultiStringMatcher excludedTagMatcher;
 
     @Override
     public int[] sqlTypes() {
@@ -61,22 +65,18 @@ public class StringMapType extends AbstractUserType implements ParameterizedType
                     throws HibernateException, SQLException {
         String value = rs.getString(names[0]);
         if (value != null && owner != null) {
-            final String[] notContains = getNotContains(owner.getClass());
-            if (notContains != null) {
-                for (final String s : notContains) {
-                    // 替换不能包含的字符串为空格，以解决数据中残留数据带有禁用字符串的问题
-                    value = value.replace(s, Strings.SPACE);
-                }
+            final MultiStringMatcher notContainsMatcher = getNotContainsMatcher(owner.getClass());
+            if (notContainsMatcher != null) {
+                // 替换不能包含的字符串为空格，以解决数据中残留数据带有禁用字符串的问题
+                value = notContainsMatcher.replaceAll(value, Strings.SPACE);
             }
 
             final FilteredTokens filteredTags = getFilteredTags(owner.getClass());
             if (filteredTags != null && !filteredTags.isEmpty()) {
                 // 先替换掉禁止使用的标签
-                final Set<String> excludedTags = filteredTags.getExcludes();
-                if (excludedTags != null) {
-                    for (final String tag : excludedTags) {
-                        value = replaceTag(value, tag, Strings.SPACE);
-                    }
+                final MultiStringMatcher excludedTagMatcher = getExcludedTagMatcher(filteredTags);
+                if (excludedTagMatcher != null) {
+                    value = replaceTags(value, excludedTagMatcher, Strings.SPACE);
                 }
                 // 再替换掉非允许使用的标签
                 final Set<String> includes = filteredTags.getIncludes();
@@ -106,12 +106,12 @@ public class StringMapType extends AbstractUserType implements ParameterizedType
         return value;
     }
 
-    private String[] getNotContains(final Class<?> type) {
-        if (StringUtils.isNotBlank(this.propertyName) && this.notContains == null) {
+    private MultiStringMatcher getNotContainsMatcher(final Class<?> type) {
+        if (StringUtils.isNotBlank(this.propertyName) && this.notContainsMatcher == null) {
             final Field field = ClassUtil.findField(type, this.propertyName);
-            this.notContains = getNotContains(field);
+            this.notContainsMatcher = new MultiStringMatcher(getNotContains(field));
         }
-        return this.notContains;
+        return this.notContainsMatcher;
     }
 
     private String[] getNotContains(final Field field) {
@@ -180,28 +180,47 @@ public class StringMapType extends AbstractUserType implements ParameterizedType
         return tags;
     }
 
-    private String replaceTag(String value, String tag, final String target) {
-        String s = value.toLowerCase();
-        tag = tag.toLowerCase();
-
-        // 替换形如<tag ***>的标签头
-        final StringBuffer sb = new StringBuffer(value);
-        final String tagToken = "<" + tag + Strings.SPACE;
-        int leftIndex = s.indexOf(tagToken);
-        while (leftIndex >= 0) {
-            final int rightIndex = s.indexOf(">", leftIndex);
-            if (rightIndex > leftIndex) {
-                sb.replace(leftIndex, rightIndex + 1, target);
-                value = sb.toString().toLowerCase();
-                s = value.toLowerCase();
-                leftIndex = s.indexOf(tagToken);
+    private MultiStringMatcher getExcludedTagMatcher(final FilteredTokens filteredTags) {
+        if (this.excludedTagMatcher == null) {
+            final Set<String> excludedTags = filteredTags.getExcludes();
+            if (excludedTags == null) {
+                return null;
             }
+            final List<String> tagTokens = new ArrayList<>();
+            for (final String tag : excludedTags) {
+                tagTokens.add("<" + tag + Strings.SPACE); // 形如<tag ***>的标签头
+                tagTokens.add("<" + tag + ">"); // 形如<tag>的标签头
+                tagTokens.add("</" + tag + ">"); // 形如</tag>的标签尾
+            }
+            this.excludedTagMatcher = new MultiStringMatcher(tagTokens, true);
         }
-        // 替换形如<tag>的标签头
-        value = value.replace("<" + tag + ">", target);
-        // 替换形如</tag>的标签尾
-        value = value.replace("</" + tag + ">", target);
-        return value;
+        return this.excludedTagMatcher;
+    }
+
+    private String replaceTags(final String value, final MultiStringMatcher tagMatcher,
+            final String target) {
+        MultiStringMatcher.Match match = tagMatcher.find(value, 0);
+        if (match == null) {
+            return value;
+        }
+        final StringBuilder sb = new StringBuilder(value.length());
+        int index = 0;
+        while (match != null) {
+            int end = match.getEnd();
+            if (match.getPattern().endsWith(Strings.SPACE)) { // 形如<tag ***>的标签头需替换至>处
+                end = value.indexOf('>', end) + 1;
+            }
+            if (end > 0) {
+                sb.append(value, index, match.getStart()).append(target);
+                index = end;
+            } else { // 标签头未闭合，则保留
+                sb.append(value, index, match.getEnd());
+                index = match.getEnd();
+            }
+            match = tagMatcher.find(value, index);
+        }
+        sb.append(value, index, value.length());
+        return sb.toString();
     }
 
     @Override
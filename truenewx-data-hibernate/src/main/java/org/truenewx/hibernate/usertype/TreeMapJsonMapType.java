@@ -1,12 +1,11 @@
 package org.truenewx.hibernate.usertype;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Map;
 import java.util.TreeMap;
 
 import org.hibernate.HibernateException;
-import org.hibernate.engine.spi.SessionImplementor;
+
+import com.alibaba.fastjson.JSON;
 
 /**
  * TreeMap-Json映射类型
@@ -17,17 +16,9 @@ import org.hibernate.engine.spi.SessionImplementor;
 public class TreeMapJsonMapType extends MapJsonMapType {
 
     @Override
-    @SuppressWarnings({ "unchecked", "rawtypes" })
-    public Object nullSafeGet(final ResultSet rs, final String[] names,
-            final SessionImplementor session, final Object owner) throws HibernateException,
-            SQLException {
-        final Object obj = super.nullSafeGet(rs, names, session, owner);
-        if (obj instanceof Map<?, ?>) {
-            final TreeMap tm = new TreeMap<>();
-            tm.putAll((Map) obj);
-            return tm;
-        }
-        return obj;
+    protected Map<?, ?> parseMap(final String json) {
+        // 直接解析为TreeMap，无需先解析为LinkedHashMap再复制
+        return JSON.parseObject(json, TreeMap.class);
     }
 
     @Override
@@ -0,0 +1,126 @@
+package org.truenewx.data.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.util.Assert;
+import org.truenewx.core.util.SequenceStore;
+
+/**
+ * 基于数据库表的序列号存储<br>
+ * 表中每行对应一个序列，记录已分配的最大序列号。分配在独立的连接和事务中进行，不参与调用者的事务，
+ * 依靠更新语句的行锁保证多个节点并发分配时互不重叠。表结构如：
+ *
+ * <pre>
+ * create table t_sequence (name varchar(64) primary key, allocated bigint not null)
+ * </pre>
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class JdbcSequenceStore implements SequenceStore {
+
+    private DataSource dataSource;
+    private String tableName = "t_sequence";
+    private String nameColumn = "name";
+    private String allocatedColumn = "allocated";
+
+    public JdbcSequenceStore(final DataSource dataSource) {
+        Assert.notNull(dataSource);
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param tableName
+     *            表名，默认为t_sequence
+     */
+    public void setTableName(final String tableName) {
+        this.tableName = tableName;
+    }
+
+    /**
+     * @param nameColumn
+     *            序列名称字段名，默认为name
+     */
+    public void setNameColumn(final String nameColumn) {
+        this.nameColumn = nameColumn;
+    }
+
+    /**
+     * @param allocatedColumn
+     *            已分配的最大序列号字段名，默认为allocated
+     */
+    public void setAllocatedColumn(final String allocatedColumn) {
+        this.allocatedColumn = allocatedColumn;
+    }
+
+    @Override
+    public long allocate(final String name, final int size) {
+        try {
+            return allocateInTransaction(name, size);
+        } catch (final SQLException e) {
+            // 多个节点同时首次分配同一序列时，插入可能因主键冲突而失败，此时该行已存在，重试一次即可
+            try {
+                return allocateInTransaction(name, size);
+            } catch (final SQLException retryException) {
+                throw new IllegalStateException("Failed to allocate sequence " + name,
+                        retryException);
+            }
+        }
+    }
+
+    private long allocateInTransaction(final String name, final int size) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                final long allocated = allocate(connection, name, size);
+                connection.commit();
+                return allocated + 1;
+            } catch (final SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * @return 本次分配前已分配的最大序列号
+     */
+    private long allocate(final Connection connection, final String name, final int size)
+            throws SQLException {
+        // 先更新以锁定该行，再读取更新后的值
+        final String updateSql = "update " + this.tableName + " set " + this.allocatedColumn
+                + "=" + this.allocatedColumn + "+? where " + this.nameColumn + "=?";
+        try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+            statement.setInt(1, size);
+            statement.setString(2, name);
+            if (statement.executeUpdate() == 0) { // 序列尚不存在
+                final String insertSql = "insert into " + this.tableName + " (" + this.nameColumn
+                        + "," + this.allocatedColumn + ") values (?,?)";
+                try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                    insert.setString(1, name);
+                    insert.setLong(2, size);
+                    insert.executeUpdate();
+                }
+                return 0;
+            }
+        }
+        final String selectSql = "select " + this.allocatedColumn + " from " + this.tableName
+                + " where " + this.nameColumn + "=?";
+        try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1) - size;
+            }
+        }
+    }
+
+}
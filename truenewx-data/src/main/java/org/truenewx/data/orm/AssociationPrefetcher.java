@@ -0,0 +1,21 @@
+package org.truenewx.data.orm;
+
+import java.util.Collection;
+
+/**
+ * 关联预取器，以批量查询的方式一次性加载实体集合的关联对象，避免逐个实体访问关联时产生大量查询
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public interface AssociationPrefetcher {
+    /**
+     * 为指定实体集合预取指定关联
+     *
+     * @param entities
+     *            实体集合，仅处理处于持久化管理中的实体
+     * @param associationPaths
+     *            关联属性的访问路径集，如：user、user.department
+     */
+    void prefetch(Collection<?> entities, String... associationPaths);
+}
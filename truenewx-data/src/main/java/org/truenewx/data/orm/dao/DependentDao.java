@@ -1,6 +1,8 @@
 package org.truenewx.data.orm.dao;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
 
 import org.truenewx.data.model.Entity;
 import org.truenewx.data.query.QueryParameter;
@@ -51,4 +53,41 @@ public interface DependentDao<T extends Entity> extends EntityDao<T> {
      * @return 被删除的数量
      */
     int delete(Class<?> dependedClass, Serializable dependedKey);
+
+    /**
+     * 分页查询从属于指定被依赖实体集中任一实体的当前实体
+     *
+     * @param dependedClass
+     *            被依赖实体的类型
+     * @param dependedKeys
+     *            被依赖实体的标识集
+     * @param parameter
+     *            查询参数
+     * @return 从属于指定被依赖实体集的当前实体查询结果
+     */
+    QueryResult<T> findAll(Class<?> dependedClass, Collection<? extends Serializable> dependedKeys,
+                    QueryParameter parameter);
+
+    /**
+     * 获取从属于指定被依赖实体集中任一实体的当前实体的标识集，用于逐层展开依赖关系
+     *
+     * @param dependedClass
+     *            被依赖实体的类型
+     * @param dependedKeys
+     *            被依赖实体的标识集
+     * @return 当前实体的标识集
+     */
+    List<Serializable> findKeys(Class<?> dependedClass,
+                    Collection<? extends Serializable> dependedKeys);
+
+    /**
+     * 删除从属于指定被依赖实体集中任一实体的当前实体的数据
+     *
+     * @param dependedClass
+     *            被依赖实体的类型
+     * @param dependedKeys
+     *            被依赖实体的标识集
+     * @return 被删除的数量
+     */
+    int deleteAll(Class<?> dependedClass, Collection<? extends Serializable> dependedKeys);
 }
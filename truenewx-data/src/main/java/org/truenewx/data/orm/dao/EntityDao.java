@@ -42,6 +42,14 @@ public interface EntityDao<T> extends EntityFinder<T> {
      */
     void refresh(T entity);
 
+    /**
+     * 将指定实体对象移出缓存，使其脱离持久化管理。尚未同步至数据库的改动将丢失，故一般应在同步之后调用
+     *
+     * @param entity
+     *            实体对象
+     */
+    void evict(T entity);
+
     /**
      * 计算所有实体的总数
      *
@@ -33,4 +33,15 @@ public interface SlicedUnityDao<T extends SlicedUnity<K, S>, K extends Serializa
      * @return 单体
      */
     T increaseNumber(S slicer, K id, String propertyName, Number step);
+
+    /**
+     * 判断指定切分者下指定标识的单体是否已在缓存中，即处于持久化管理中。不会因此加载单体
+     *
+     * @param slicer
+     *            切分者
+     * @param id
+     *            单体标识
+     * @return 指定标识的单体是否已在缓存中
+     */
+    boolean isCached(S slicer, K id);
 }
@@ -31,4 +31,13 @@ public interface UnityDao<T extends Unity<K>, K extends Serializable>
      */
     T increaseNumber(K id, String propertyName, Number step);
 
+    /**
+     * 判断指定标识的单体是否已在缓存中，即处于持久化管理中。不会因此加载单体
+     *
+     * @param id
+     *            单体标识
+     * @return 指定标识的单体是否已在缓存中
+     */
+    boolean isCached(K id);
+
 }
@@ -2,6 +2,7 @@ package org.truenewx.data.orm.dao.support;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,10 @@ import org.truenewx.data.query.QueryResult;
  * @since JDK 1.8
  */
 public abstract class EntityDaoSupport<T> implements EntityDao<T> {
+    /**
+     * 以in条件批量查询或删除依赖实体时，每条语句中的最大被依赖实体标识数量，以免超出数据库对in条件的数量限制
+     */
+    private static final int MAX_IN_SIZE = 500;
 
     /**
      * 获取实体类型<br/>
@@ -158,8 +163,8 @@ public abstract class EntityDaoSupport<T> implements EntityDao<T> {
             return new QueryResult<>(new ArrayList<T>(), parameter.getPageSize(),
                     parameter.getPageNo());
         }
-        final StringBuffer hql = new StringBuffer("select count(*) from ").append(entityName)
-                .append(" where ").append(keyProperty).append("=:dependedKey");
+        final StringBuffer hql = new StringBuffer("from ").append(entityName).append(" where ")
+                .append(keyProperty).append("=:dependedKey");
         final Map<String, Object> params = new HashMap<>();
         params.put("dependedKey", dependedKey);
 
@@ -177,4 +182,86 @@ public abstract class EntityDaoSupport<T> implements EntityDao<T> {
         hql.append(keyProperty).append("=:dependedKey");
         return getDataAccessTemplate(entityName).update(hql, "dependedKey", dependedKey);
     }
+
+    protected QueryResult<T> findAll(final String entityName, final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys,
+            final QueryParameter parameter) {
+        final String keyProperty = getDependedKeyProperty(dependedClass);
+        if (keyProperty == null || dependedKeys.isEmpty()) {
+            return new QueryResult<>(new ArrayList<T>(), parameter.getPageSize(),
+                    parameter.getPageNo());
+        }
+        if (dependedKeys.size() == 1) {
+            return find(entityName, dependedClass, dependedKeys.iterator().next(), parameter);
+        }
+        // 分页查询无法拆分为多条语句，故将标识集分批后以or连接的多个in条件在一条语句中查询
+        final StringBuffer hql = new StringBuffer("from ").append(entityName).append(" where (");
+        final Map<String, Object> params = new HashMap<>();
+        int index = 0;
+        for (final List<Serializable> part : partition(dependedKeys)) {
+            final String paramName = "dependedKeys" + index;
+            if (index > 0) {
+                hql.append(" or ");
+            }
+            hql.append(keyProperty).append(" in (:").append(paramName).append(")");
+            params.put(paramName, part);
+            index++;
+        }
+        hql.append(")");
+        return query(entityName, hql, params, parameter);
+    }
+
+    /**
+     * 获取依赖指定被依赖实体集的当前实体的标识集
+     *
+     * @param entityName
+     *            实体名称
+     * @param dependedClass
+     *            被依赖实体的类型
+     * @param dependedKeys
+     *            被依赖实体的标识集
+     * @return 当前实体的标识集，当前实体不依赖指定类型的实体时返回空集合
+     */
+    protected List<Serializable> findKeys(final String entityName, final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys) {
+        final List<Serializable> keys = new ArrayList<>();
+        final String keyProperty = getDependedKeyProperty(dependedClass);
+        if (keyProperty != null) {
+            final String hql = "select id from " + entityName + " where " + keyProperty
+                    + " in (:dependedKeys)";
+            for (final List<Serializable> part : partition(dependedKeys)) {
+                keys.addAll(getDataAccessTemplate(entityName).<Serializable> list(hql,
+                        "dependedKeys", part));
+            }
+        }
+        return keys;
+    }
+
+    protected int deleteAll(final String entityName, final Class<?> dependedClass,
+            final Collection<? extends Serializable> dependedKeys) {
+        final String keyProperty = getDependedKeyProperty(dependedClass);
+        if (keyProperty == null) {
+            return Paging.UNKNOWN_TOTAL;
+        }
+        final String hql = "delete from " + entityName + " where " + keyProperty
+                + " in (:dependedKeys)";
+        int count = 0;
+        for (final List<Serializable> part : partition(dependedKeys)) {
+            count += getDataAccessTemplate(entityName).update(hql, "dependedKeys", part);
+        }
+        return count;
+    }
+
+    private List<List<Serializable>> partition(final Collection<? extends Serializable> keys) {
+        final List<List<Serializable>> parts = new ArrayList<>();
+        List<Serializable> part = null;
+        for (final Serializable key : keys) {
+            if (part == null || part.size() == MAX_IN_SIZE) {
+                part = new ArrayList<>(Math.min(MAX_IN_SIZE, keys.size()));
+                parts.add(part);
+            }
+            part.add(key);
+        }
+        return parts;
+    }
 }
@@ -1,12 +1,15 @@
 package org.truenewx.data.validation.config;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.annotation.Nullable;
 
+import org.springframework.util.Assert;
 import org.truenewx.data.model.Model;
 import org.truenewx.data.validation.rule.ValidationRule;
 
@@ -24,7 +27,11 @@ public class ValidationConfiguration {
     /**
      * 属性名-约束集的映射
      */
-    private Map<String, Set<ValidationRule>> ruleMapping;
+    private volatile Map<String, Set<ValidationRule>> ruleMapping;
+    /**
+     * 是否已封闭，封闭后不可再修改，读取时无需加锁
+     */
+    private volatile boolean sealed;
 
     public ValidationConfiguration(final Class<? extends Model> modelClass) {
         this.modelClass = modelClass;
@@ -37,32 +44,62 @@ public class ValidationConfiguration {
 
     public synchronized void addRule(final String propertyName,
                     @Nullable final ValidationRule rule) {
+        Assert.state(!this.sealed, "The configuration has been sealed");
         if (rule != null) {
             getRules(propertyName).add(rule);
         }
     }
 
-    public synchronized Set<ValidationRule> getRules(final String propertyName) {
-        Set<ValidationRule> rules = this.ruleMapping.get(propertyName);
-        if (rules == null) {
-            rules = new LinkedHashSet<ValidationRule>(); // 保持规则加入的顺序
-            this.ruleMapping.put(propertyName, rules);
+    public Set<ValidationRule> getRules(final String propertyName) {
+        if (this.sealed) {
+            final Set<ValidationRule> rules = this.ruleMapping.get(propertyName);
+            return rules == null ? Collections.<ValidationRule> emptySet() : rules;
+        }
+        synchronized (this) {
+            Set<ValidationRule> rules = this.ruleMapping.get(propertyName);
+            if (rules == null) {
+                rules = new LinkedHashSet<ValidationRule>(); // 保持规则加入的顺序
+                this.ruleMapping.put(propertyName, rules);
+            }
+            return rules;
         }
-        return rules;
     }
 
     @SuppressWarnings("unchecked")
-    public synchronized <R extends ValidationRule> R getRule(final String propertyName,
+    public <R extends ValidationRule> R getRule(final String propertyName,
                     final Class<R> ruleClass) {
         final Set<ValidationRule> rules = getRules(propertyName);
-        for (final ValidationRule rule : rules) {
-            if (rule.getClass() == ruleClass) {
-                return (R) rule;
+        synchronized (this) {
+            for (final ValidationRule rule : rules) {
+                if (rule.getClass() == ruleClass) {
+                    return (R) rule;
+                }
             }
         }
         return null;
     }
 
+    /**
+     * 封闭当前校验设置，封闭后规则集不可再修改，可被多线程无锁读取
+     */
+    public synchronized void seal() {
+        if (!this.sealed) {
+            final Map<String, Set<ValidationRule>> ruleMapping = new HashMap<>();
+            for (final Entry<String, Set<ValidationRule>> entry : this.ruleMapping.entrySet()) {
+                if (!entry.getValue().isEmpty()) { // 忽略没有规则的属性
+                    ruleMapping.put(entry.getKey(),
+                            Collections.unmodifiableSet(new LinkedHashSet<>(entry.getValue())));
+                }
+            }
+            this.ruleMapping = Collections.unmodifiableMap(ruleMapping);
+            this.sealed = true;
+        }
+    }
+
+    public boolean isSealed() {
+        return this.sealed;
+    }
+
     public Set<String> getPropertyNames() {
         return this.ruleMapping.keySet();
     }
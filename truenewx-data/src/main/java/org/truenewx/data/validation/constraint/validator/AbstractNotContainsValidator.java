@@ -5,7 +5,7 @@ import java.lang.annotation.Annotation;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
-import org.apache.commons.lang3.StringUtils;
+import org.truenewx.core.util.MultiStringMatcher;
 import org.truenewx.data.validation.constraint.NotContains;
 
 /**
@@ -17,10 +17,10 @@ import org.truenewx.data.validation.constraint.NotContains;
 public abstract class AbstractNotContainsValidator<A extends Annotation>
         implements ConstraintValidator<A, CharSequence> {
 
-    private String[] values;
+    private MultiStringMatcher matcher;
 
     protected final void setValues(final String[] values) {
-        this.values = values;
+        this.matcher = new MultiStringMatcher(values);
     }
 
     public void initialize(final NotContains annotation) {
@@ -29,15 +29,7 @@ public abstract class AbstractNotContainsValidator<A extends Annotation>
 
     @Override
     public boolean isValid(final CharSequence value, final ConstraintValidatorContext context) {
-        if (StringUtils.isNotEmpty(value)) {
-            final String s = value.toString();
-            for (final String v : this.values) {
-                if (s.contains(v)) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return !this.matcher.containsAny(value);
     }
 
 }
@@ -1,13 +1,17 @@
 package org.truenewx.data.validation.constraint.validator;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.truenewx.core.Strings;
 import org.truenewx.core.util.ArrayUtil;
-import org.truenewx.core.util.StringUtil;
+import org.truenewx.core.util.MultiStringMatcher;
+import org.truenewx.core.util.RegexUtil;
 import org.truenewx.data.validation.constraint.TagLimit;
 
 /**
@@ -18,16 +22,29 @@ import org.truenewx.data.validation.constraint.TagLimit;
  */
 public class TagLimitValidator implements ConstraintValidator<TagLimit, CharSequence> {
 
+    private static final Pattern ANY_TAG_PATTERN = RegexUtil.register(".*<(?i)[a-z]+.*>.*");
+
     private String[] allowed;
 
     private String[] forbidden;
 
+    /**
+     * 禁止标签的标签头匹配器，标签头形如：&lt;tag&gt;或&lt;tag+空格
+     */
+    private MultiStringMatcher forbiddenMatcher;
+
     @Override
     public void initialize(final TagLimit annotation) {
         this.allowed = annotation.allowed();
         ArrayUtil.toLowerCase(this.allowed);
         this.forbidden = annotation.forbidden();
         ArrayUtil.toLowerCase(this.forbidden);
+        final List<String> tagHeads = new ArrayList<>();
+        for (final String tag : this.forbidden) {
+            tagHeads.add("<" + tag + ">");
+            tagHeads.add("<" + tag + Strings.SPACE);
+        }
+        this.forbiddenMatcher = new MultiStringMatcher(tagHeads, true);
     }
 
     @Override
@@ -36,38 +53,44 @@ public class TagLimitValidator implements ConstraintValidator<TagLimit, CharSequ
         if (StringUtils.isNotBlank(s) && s.contains("<") && s.contains(">")) {
             s = s.trim();
             if (this.allowed.length == 0 && this.forbidden.length == 0) { // 限制所有标签
-                return !StringUtil.regexMatch(s, ".*<(?i)[a-z]+.*>.*");
+                return !ANY_TAG_PATTERN.matcher(s).matches();
             }
             if (this.allowed.length > 0) { // 仅允许的标签，禁止其它标签
-                // 正则表达式写不出，只得用笨办法
-                int leftIndex = s.indexOf("<");
-                int rightIndex = leftIndex >= 0 ? s.indexOf(">", leftIndex) : -1;
+                // 正则表达式写不出，只得用笨办法，在原字符串上定位标签名，避免截取子串
+                int leftIndex = s.indexOf('<');
+                int rightIndex = leftIndex >= 0 ? s.indexOf('>', leftIndex) : -1;
                 while (leftIndex >= 0 && rightIndex >= 0) {
-                    final String sub = s.substring(leftIndex + 1, rightIndex); // <>中间的部分
-                    final int spaceIndex = sub.indexOf(Strings.SPACE);
-                    String tag = spaceIndex >= 0 ? sub.substring(0, spaceIndex) : sub;
-                    if (tag.startsWith(Strings.SLASH)) { // 标签结束处
-                        tag = tag.substring(Strings.SLASH.length());
+                    int tagBegin = leftIndex + 1;
+                    int tagEnd = s.indexOf(' ', tagBegin);
+                    if (tagEnd < 0 || tagEnd > rightIndex) {
+                        tagEnd = rightIndex;
                     }
-                    if (!ArrayUtils.contains(this.allowed, tag.toLowerCase())) {
+                    if (tagBegin < tagEnd && s.charAt(tagBegin) == '/') { // 标签结束处
+                        tagBegin++;
+                    }
+                    if (!isAllowed(s, tagBegin, tagEnd)) {
                         return false; // 存在不允许的标签，则直接返回false
                     }
-                    leftIndex = s.indexOf("<", rightIndex);
-                    rightIndex = leftIndex >= 0 ? s.indexOf(">", leftIndex) : -1;
+                    leftIndex = s.indexOf('<', rightIndex);
+                    rightIndex = leftIndex >= 0 ? s.indexOf('>', leftIndex) : -1;
                 }
             }
             if (this.forbidden.length > 0) { // 禁止的标签
-                // 无漏洞的正则表达式难以理解，还是以字符串操作进行判断
-                s = s.toLowerCase();
-                for (final String tag : this.forbidden) {
-                    if (s.contains("<" + tag + ">") || s.contains("<" + tag + Strings.SPACE)) {
-                        return false;
-                    }
-                }
-                return true;
+                // 无漏洞的正则表达式难以理解，还是以字符串匹配进行判断
+                return !this.forbiddenMatcher.containsAny(s);
             }
         }
         return true;
     }
 
+    private boolean isAllowed(final String s, final int tagBegin, final int tagEnd) {
+        final int length = tagEnd - tagBegin;
+        for (final String tag : this.allowed) {
+            if (tag.length() == length && s.regionMatches(true, tagBegin, tag, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -1,7 +1,13 @@
 package org.truenewx.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 import org.truenewx.core.annotation.Caption;
 import org.truenewx.core.exception.BusinessException;
+import org.truenewx.core.exception.HandleableException;
 import org.truenewx.core.util.ClassUtil;
 
 /**
@@ -13,6 +19,92 @@ import org.truenewx.core.util.ClassUtil;
  *            关联类型
  */
 public abstract class AbstractService<T> extends ServiceSupport implements Service {
+    /**
+     * 批量写入时每批次的数据量
+     */
+    private int batchSize = 50;
+
+    /**
+     * @param batchSize
+     *            批量写入时每批次的数据量，每写入一个批次即同步至数据库，并将新建的实体移出缓存，以限制内存占用；
+     *            小于等于0时不分批次
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    protected int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * 逐条写入指定数据集，每写入一个批次即同步至数据库，并将本批次中可移出的实体移出缓存，以免缓存随数据量无限增长。<br/>
+     * 调用者在同一事务中已加载的实体不应移出，否则调用者持有的实体将脱离持久化管理，故需在写入前判断是否可移出；
+     * 删除的实体在同步后即已移出缓存，无需移出
+     *
+     * @param items
+     *            数据集
+     * @param writer
+     *            单条数据的写入器
+     * @param flusher
+     *            将缓存同步至数据库的执行者
+     * @param evicter
+     *            将实体移出缓存的执行者，为null时不移出实体
+     * @param evictable
+     *            在写入前判断指定数据对应的实体写入后是否可移出缓存的断言，为null时写入的实体均可移出
+     * @return 写入的数据量
+     * @throws HandleableException
+     *             如果写入单条数据时校验不通过
+     */
+    protected <E> int writeAll(final Iterable<E> items, final BatchItemWriter<E, T> writer,
+            final Runnable flusher, final Consumer<T> evicter,
+            final Predicate<? super E> evictable) throws HandleableException {
+        final List<T> evictables = new ArrayList<>();
+        int count = 0;
+        for (final E item : items) {
+            final boolean toEvict = evicter != null
+                    && (evictable == null || evictable.test(item));
+            final T entity = writer.write(item);
+            if (entity != null) {
+                if (toEvict) {
+                    evictables.add(entity);
+                }
+                count++;
+                if (this.batchSize > 0 && count % this.batchSize == 0) {
+                    flusher.run();
+                    if (evicter != null) {
+                        evictables.forEach(evicter);
+                        evictables.clear();
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 批量写入时单条数据的写入器
+     *
+     * @author jianglei
+     * @since JDK 1.8
+     * @param <E>
+     *            数据类型
+     * @param <T>
+     *            实体类型
+     */
+    @FunctionalInterface
+    protected interface BatchItemWriter<E, T> {
+        /**
+         * 写入指定数据
+         *
+         * @param item
+         *            数据
+         * @return 写入的实体，未写入时返回null
+         * @throws HandleableException
+         *             如果校验不通过
+         */
+        T write(E item) throws HandleableException;
+    }
 
     protected Class<T> getEntityClass() {
         return ClassUtil.getActualGenericType(getClass(), 0);
@@ -1,11 +1,20 @@
 package org.truenewx.service.dependent;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.truenewx.core.annotation.Caption;
@@ -16,7 +25,9 @@ import org.truenewx.data.query.QueryParameter;
 import org.truenewx.data.query.QueryResult;
 
 /**
- * 依赖着服务实现
+ * 依赖着服务实现<br/>
+ * 以被依赖实体为起点逐层展开依赖关系，每一层中每个依赖类型只以in条件执行一次查询，而不是逐个实体递归查询；
+ * 删除时按初始化时解析出的类型依赖顺序，先删除依赖者，再删除被依赖者
  *
  * @author jianglei
  * @since JDK 1.8
@@ -29,6 +40,12 @@ public class DependentServiceImpl implements DependentService, ContextInitialize
      * value - 直接依赖的DAO集合
      */
     private Map<Class<?>, Set<DependentDao<?>>> dependentDaoMap = new HashMap<>();
+    /**
+     * key - 实体类型<br/>
+     * value - 删除顺序，值越小越先删除，依赖者总是先于被依赖者删除
+     */
+    private Map<Class<?>, Integer> deleteOrders = new HashMap<>();
+    private Logger logger = LoggerFactory.getLogger(getClass());
 
     @Override
     public void afterInitialized(final ApplicationContext context) throws Exception {
@@ -47,6 +64,43 @@ public class DependentServiceImpl implements DependentService, ContextInitialize
                 }
             }
         }
+        resolveDeleteOrders();
+    }
+
+    /**
+     * 对依赖关系图进行深度优先的后序遍历，依赖者先于被依赖者被遍历到，遍历顺序即为删除顺序
+     */
+    private void resolveDeleteOrders() {
+        final Set<Class<?>> visiting = new HashSet<>();
+        for (final Class<?> dependedClass : this.dependentDaoMap.keySet()) {
+            resolveDeleteOrder(dependedClass, visiting);
+        }
+    }
+
+    private void resolveDeleteOrder(final Class<?> entityClass, final Set<Class<?>> visiting) {
+        if (this.deleteOrders.containsKey(entityClass) || !visiting.add(entityClass)) {
+            return;
+        }
+        final Set<DependentDao<?>> dependentDaos = this.dependentDaoMap.get(entityClass);
+        if (dependentDaos != null) {
+            for (final DependentDao<?> dependentDao : dependentDaos) {
+                final Class<?> dependentClass = dependentDao.getEntityClass();
+                if (dependentClass != entityClass) { // 自依赖通过层级顺序保证删除顺序
+                    if (visiting.contains(dependentClass)
+                                    && !this.deleteOrders.containsKey(dependentClass)) {
+                        this.logger.warn("Circular dependency between {} and {}",
+                                        entityClass.getName(), dependentClass.getName());
+                    }
+                    resolveDeleteOrder(dependentClass, visiting);
+                }
+            }
+        }
+        this.deleteOrders.put(entityClass, this.deleteOrders.size());
+    }
+
+    private int getDeleteOrder(final Class<?> entityClass) {
+        final Integer order = this.deleteOrders.get(entityClass);
+        return order == null ? Integer.MAX_VALUE : order;
     }
 
     @Override
@@ -54,65 +108,149 @@ public class DependentServiceImpl implements DependentService, ContextInitialize
                     final Serializable dependedKey, final QueryParameter parameter,
                     final boolean recursive) {
         final Map<Class<?>, QueryResult<?>> result = new HashMap<>();
-        find(dependedClass, dependedKey, parameter, recursive,
-                        this.dependentDaoMap.get(dependedClass), result);
+        final Map<Class<?>, Set<Serializable>> visited = new HashMap<>();
+        Map<Class<?>, Set<Serializable>> level = newLevel(dependedClass, dependedKey);
+        int depth = 0;
+        while (!level.isEmpty()) {
+            final Map<Class<?>, Set<Serializable>> nextLevel = new LinkedHashMap<>();
+            int rows = 0;
+            for (final Entry<Class<?>, Set<Serializable>> entry : level.entrySet()) {
+                final Class<?> entityClass = entry.getKey();
+                final Set<Serializable> keys = entry.getValue();
+                final Set<DependentDao<?>> dependentDaos = this.dependentDaoMap.get(entityClass);
+                if (dependentDaos != null) {
+                    for (final DependentDao<?> dependentDao : dependentDaos) {
+                        final Class<?> dependentClass = dependentDao.getEntityClass();
+                        if (!result.containsKey(dependentClass)) { // 同一类型只查询最先到达的一层
+                            final QueryResult<?> qr = dependentDao.findAll(entityClass, keys,
+                                            parameter);
+                            if (!qr.isEmpty()) {
+                                result.put(dependentClass, qr);
+                            }
+                        }
+                        // 直接依赖实体数量为0时不再需要递归计算间接依赖实体的数量
+                        final QueryResult<?> qr = result.get(dependentClass);
+                        if (recursive && qr != null && qr.getPaging().getTotal() != 0) {
+                            rows += expand(dependentDao, entityClass, keys, visited, nextLevel);
+                        }
+                    }
+                }
+            }
+            if (recursive) {
+                logLevel(dependedClass, dependedKey, ++depth, rows);
+            }
+            level = nextLevel;
+        }
         return result;
     }
 
-    private void find(final Class<?> entityClass, final Serializable key,
-                    final QueryParameter parameter, final boolean recursive,
-                    final Set<DependentDao<?>> dependentDaos,
-                    final Map<Class<?>, QueryResult<?>> result) {
-        if (dependentDaos != null) {
-            for (final DependentDao<?> dependentDao : dependentDaos) {
-                // 计算直接依赖实体的数量
-                final QueryResult<?> qr = dependentDao.find(entityClass, key, parameter);
-                if (!qr.isEmpty()) {
-                    final Class<?> dependentClass = dependentDao.getEntityClass();
-                    result.put(dependentClass, qr);
-
-                    // 直接依赖实体数量为0时不再需要递归计算间接依赖实体的数量
-                    if (recursive && qr.getPaging().getTotal() != 0) {
-                        find(entityClass, key, parameter, recursive,
-                                        this.dependentDaoMap.get(dependentClass), result);
-                    }
+    private Map<Class<?>, Set<Serializable>> newLevel(final Class<?> entityClass,
+                    final Serializable key) {
+        final Map<Class<?>, Set<Serializable>> level = new LinkedHashMap<>();
+        level.put(entityClass, Collections.singleton(key));
+        return level;
+    }
+
+    /**
+     * 查找直接依赖指定实体集的实体，将其中尚未访问过的实体加入下一层
+     *
+     * @return 查找到的实体数量
+     */
+    private int expand(final DependentDao<?> dependentDao, final Class<?> dependedClass,
+                    final Collection<Serializable> dependedKeys,
+                    final Map<Class<?>, Set<Serializable>> visited,
+                    final Map<Class<?>, Set<Serializable>> nextLevel) {
+        final Class<?> dependentClass = dependentDao.getEntityClass();
+        final List<Serializable> keys = dependentDao.findKeys(dependedClass, dependedKeys);
+        Set<Serializable> visitedKeys = visited.get(dependentClass);
+        if (visitedKeys == null) {
+            visitedKeys = new HashSet<>();
+            visited.put(dependentClass, visitedKeys);
+        }
+        for (final Serializable key : keys) {
+            if (visitedKeys.add(key)) { // 避免自依赖或多路径依赖导致的重复展开
+                Set<Serializable> levelKeys = nextLevel.get(dependentClass);
+                if (levelKeys == null) {
+                    levelKeys = new LinkedHashSet<>();
+                    nextLevel.put(dependentClass, levelKeys);
                 }
+                levelKeys.add(key);
             }
         }
+        return keys.size();
+    }
+
+    private void logLevel(final Class<?> dependedClass, final Serializable dependedKey,
+                    final int depth, final int rows) {
+        if (rows > 0 && this.logger.isDebugEnabled()) {
+            this.logger.debug("Dependents of {}#{} at level {}: {} rows", dependedClass.getName(),
+                            dependedKey, depth, rows);
+        }
     }
 
     @Override
     public Map<Class<?>, Integer> delete(final Class<?> dependedClass,
                     final Serializable dependedKey) throws BusinessException {
-        final Map<Class<?>, Integer> result = new HashMap<>();
-        delete(dependedClass, dependedKey, this.dependentDaoMap.get(dependedClass), result);
-        return result;
-    }
-
-    private void delete(final Class<?> dependedClass, final Serializable dependedKey,
-                    final Set<DependentDao<?>> dependentDaos, final Map<Class<?>, Integer> result)
-                    throws BusinessException {
-        if (dependentDaos != null) {
-            for (final DependentDao<?> dependentDao : dependentDaos) {
-                try {
-                    if (dependentDao.requiresPreDelete(dependedClass)) {
-                        // 递归删除间接依赖实体
-                        delete(dependedClass, dependedKey,
-                                        this.dependentDaoMap.get(dependentDao.getEntityClass()),
-                                        result);
-                        // 删除直接依赖实体
-                        final int count = dependentDao.delete(dependedClass, dependedKey);
-                        if (count >= 0) { // 数量小于0视为无效
-                            result.put(dependentDao.getEntityClass(), count);
+        // 先逐层展开所有需要删除的依赖关系
+        final List<DeleteStep> steps = new ArrayList<>();
+        final Map<Class<?>, Set<Serializable>> visited = new HashMap<>();
+        Map<Class<?>, Set<Serializable>> level = newLevel(dependedClass, dependedKey);
+        int depth = 0;
+        while (!level.isEmpty()) {
+            final Map<Class<?>, Set<Serializable>> nextLevel = new LinkedHashMap<>();
+            int rows = 0;
+            for (final Entry<Class<?>, Set<Serializable>> entry : level.entrySet()) {
+                final Class<?> entityClass = entry.getKey();
+                final Set<Serializable> keys = entry.getValue();
+                final Set<DependentDao<?>> dependentDaos = this.dependentDaoMap.get(entityClass);
+                if (dependentDaos != null) {
+                    for (final DependentDao<?> dependentDao : dependentDaos) {
+                        try {
+                            if (dependentDao.requiresPreDelete(entityClass)) {
+                                steps.add(new DeleteStep(dependentDao, entityClass, keys, depth));
+                                rows += expand(dependentDao, entityClass, keys, visited,
+                                                nextLevel);
+                            }
+                        } catch (final UnsupportedOperationException e) {
+                            throw newUndeletableException(entityClass, dependentDao);
                         }
                     }
-                } catch (final UnsupportedOperationException e) {
-                    final String entityCaption = getCaption(dependedClass);
-                    final String dependentCaption = getCaption(dependentDao.getEntityClass());
-                    throw new BusinessException(ERROR_UNDELETABLE, entityCaption, dependentCaption);
                 }
             }
+            logLevel(dependedClass, dependedKey, ++depth, rows);
+            level = nextLevel;
         }
+        // 再按类型依赖顺序删除，同一类型中层级越深越先删除
+        Collections.sort(steps, (step1, step2) -> {
+            final int order1 = getDeleteOrder(step1.dependentDao.getEntityClass());
+            final int order2 = getDeleteOrder(step2.dependentDao.getEntityClass());
+            if (order1 != order2) {
+                return Integer.compare(order1, order2);
+            }
+            return Integer.compare(step2.depth, step1.depth);
+        });
+        final Map<Class<?>, Integer> result = new HashMap<>();
+        for (final DeleteStep step : steps) {
+            try {
+                final int count = step.dependentDao.deleteAll(step.dependedClass,
+                                step.dependedKeys);
+                if (count >= 0) { // 数量小于0视为无效
+                    final Class<?> dependentClass = step.dependentDao.getEntityClass();
+                    final Integer total = result.get(dependentClass);
+                    result.put(dependentClass, total == null ? count : total + count);
+                }
+            } catch (final UnsupportedOperationException e) {
+                throw newUndeletableException(step.dependedClass, step.dependentDao);
+            }
+        }
+        return result;
+    }
+
+    private BusinessException newUndeletableException(final Class<?> dependedClass,
+                    final DependentDao<?> dependentDao) {
+        final String entityCaption = getCaption(dependedClass);
+        final String dependentCaption = getCaption(dependentDao.getEntityClass());
+        return new BusinessException(ERROR_UNDELETABLE, entityCaption, dependentCaption);
     }
 
     private String getCaption(final Class<?> entityClass) {
@@ -123,4 +261,22 @@ public class DependentServiceImpl implements DependentService, ContextInitialize
         return "${constant.entity.class." + entityClass.getSimpleName() + "}";
     }
 
+    /**
+     * 删除步骤：删除依赖指定被依赖实体集的实体
+     */
+    private static class DeleteStep {
+        private final DependentDao<?> dependentDao;
+        private final Class<?> dependedClass;
+        private final Collection<Serializable> dependedKeys;
+        private final int depth;
+
+        public DeleteStep(final DependentDao<?> dependentDao, final Class<?> dependedClass,
+                        final Collection<Serializable> dependedKeys, final int depth) {
+            this.dependentDao = dependentDao;
+            this.dependedClass = dependedClass;
+            this.dependedKeys = dependedKeys;
+            this.depth = depth;
+        }
+    }
+
 }
@@ -0,0 +1,29 @@
+package org.truenewx.service.fsm;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 可批量获取状态的状态获取器
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ * @param <K>
+ *            标识类型
+ * @param <S>
+ *            状态枚举类型
+ */
+public interface BatchStateGetter<K extends Serializable, S extends Enum<S>>
+                extends StateGetter<K, S> {
+
+    /**
+     * 一次性获取指定标识集表示的实体的状态
+     *
+     * @param keys
+     *            标识集
+     * @return 标识-状态映射集，不存在的实体可不包含在内
+     */
+    Map<K, S> getStates(Collection<K> keys);
+
+}
@@ -0,0 +1,35 @@
+package org.truenewx.service.fsm;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.truenewx.core.exception.HandleableException;
+
+/**
+ * 可批量执行的转换动作
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ * @param <K>
+ *            标识类型
+ * @param <S>
+ *            状态枚举类型
+ * @param <T>
+ *            转换枚举类型
+ */
+public interface BatchTransitAction<K extends Serializable, S extends Enum<S>, T extends Enum<T>>
+                extends TransitAction<K, S, T> {
+
+    /**
+     * 对指定标识集表示的实体，在指定上下文情况时，一次性执行动作。调用时这些实体均处于同一状态
+     *
+     * @param keys
+     *            标识集
+     * @param context
+     *            上下文
+     * @throws HandleableException
+     *             如果执行过程中出现错误
+     */
+    void execute(List<K> keys, Object context) throws HandleableException;
+
+}
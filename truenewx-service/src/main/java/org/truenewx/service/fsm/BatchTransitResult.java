@@ -0,0 +1,45 @@
+package org.truenewx.service.fsm;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批量转换结果
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ * @param <K>
+ *            标识类型
+ */
+public class BatchTransitResult<K extends Serializable> {
+
+    private List<K> transitedKeys = new ArrayList<>();
+    private List<K> unsupportedKeys = new ArrayList<>();
+
+    void addTransitedKeys(final Collection<K> keys) {
+        this.transitedKeys.addAll(keys);
+    }
+
+    void addUnsupportedKeys(final Collection<K> keys) {
+        this.unsupportedKeys.addAll(keys);
+    }
+
+    /**
+     *
+     * @return 已成功转换的实体标识集
+     */
+    public List<K> getTransitedKeys() {
+        return this.transitedKeys;
+    }
+
+    /**
+     *
+     * @return 因所处状态不支持该转换而被跳过的实体标识集，包括不存在的实体
+     */
+    public List<K> getUnsupportedKeys() {
+        return this.unsupportedKeys;
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.truenewx.service.fsm;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Set;
 
 import org.truenewx.core.exception.HandleableException;
@@ -57,4 +58,21 @@ public interface StateMachine<K extends Serializable, S extends Enum<S>, T exten
      */
     void transit(E event) throws HandleableException;
 
+    /**
+     * 对指定标识集表示的实体批量进行指定转换。实体分块执行，每块读取实体的当前状态并按状态分组，
+     * 每组只判断一次是否支持该转换。整个批量转换在一个事务中执行，实现可使每块在独立的新事务中单独提交
+     *
+     * @param keys
+     *            标识集
+     * @param transition
+     *            转换
+     * @param context
+     *            上下文
+     * @return 转换结果
+     * @throws HandleableException
+     *             转换过程中出现异常，每块单独提交时此前已提交的块不会回滚
+     */
+    BatchTransitResult<K> transit(Collection<K> keys, T transition, Object context)
+                    throws HandleableException;
+
 }
@@ -1,20 +1,38 @@
 package org.truenewx.service.fsm;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
 import org.truenewx.core.event.EventRegistrar;
 import org.truenewx.core.exception.HandleableException;
+import org.truenewx.core.spring.beans.ContextInitializedBean;
 import org.truenewx.core.spring.transaction.annotation.WriteTransactional;
 
 import com.google.common.eventbus.Subscribe;
 
 /**
- * 有限状态机实现
+ * 有限状态机实现<br/>
+ * 设置转换动作时即编译为以状态和转换的序号为下标的稠密转换表，运行时查找无需哈希；
+ * 容器初始化后校验一次各状态自起始状态是否可达
  *
  * @author jianglei
  * @since JDK 1.8
@@ -28,7 +46,7 @@ import com.google.common.eventbus.Subscribe;
  *            转换事件类型
  */
 public class StateMachineImpl<K extends Serializable, S extends Enum<S>, T extends Enum<T>, E extends TransitEvent<K, T>>
-                implements StateMachine<K, S, T, E> {
+                implements StateMachine<K, S, T, E>, ContextInitializedBean {
     /**
      * 起始状态
      */
@@ -36,7 +54,23 @@ public class StateMachineImpl<K extends Serializable, S extends Enum<S>, T exten
 
     private StateGetter<K, S> stateGetter;
 
-    private Map<S, Map<T, TransitAction<K, S, T>>> stateTransitionActionMapping = new HashMap<>();
+    private Class<S> stateClass;
+    private Class<T> transitionClass;
+    /**
+     * 转换表：[状态序号][转换序号] - 转换动作
+     */
+    private TransitAction<K, S, T>[][] actionTable;
+    /**
+     * [状态序号] - 可进行的转换集
+     */
+    private EnumSet<T>[] transitionSets;
+    private Map<T, TransitionMetrics> metrics = Collections.emptyMap();
+    /**
+     * 批量转换时每块的实体数量
+     */
+    private int chunkSize = 100;
+    private TransactionTemplate transactionTemplate;
+    private Logger logger = LoggerFactory.getLogger(getClass());
 
     public void setStartState(final S startState) {
         this.startState = startState;
@@ -50,19 +84,120 @@ public class StateMachineImpl<K extends Serializable, S extends Enum<S>, T exten
         eventRegistrar.register(this);
     }
 
+    /**
+     * @param chunkSize
+     *            批量转换时每块的实体数量，须大于0，默认为100
+     */
+    public void setChunkSize(final int chunkSize) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be >0");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 设置事务管理器，设置后批量转换时每块在独立的新事务中执行；未设置时整个批量转换在同一个事务中执行
+     *
+     * @param transactionManager
+     *            事务管理器
+     */
+    public void setTransactionManager(final PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate
+                        .setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     public void setTransitActions(
                     final Collection<? extends TransitAction<K, S, T>> transitActions) {
         for (final TransitAction<K, S, T> action : transitActions) {
+            this.transitionClass = action.getTransition().getDeclaringClass();
+            for (final S state : action.getStates()) {
+                this.stateClass = state.getDeclaringClass();
+            }
+        }
+        if (this.stateClass == null || this.transitionClass == null) {
+            return;
+        }
+        final S[] states = this.stateClass.getEnumConstants();
+        final T[] transitions = this.transitionClass.getEnumConstants();
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        final TransitAction<K, S, T>[][] actionTable = new TransitAction[states.length][transitions.length];
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        final EnumSet<T>[] transitionSets = new EnumSet[states.length];
+        for (int i = 0; i < states.length; i++) {
+            transitionSets[i] = EnumSet.noneOf(this.transitionClass);
+        }
+        for (final TransitAction<K, S, T> action : transitActions) {
+            final T transition = action.getTransition();
             for (final S state : action.getStates()) {
-                Map<T, TransitAction<K, S, T>> transitionActionMapping = this.stateTransitionActionMapping
-                                .get(state);
-                if (transitionActionMapping == null) {
-                    transitionActionMapping = new HashMap<>();
-                    this.stateTransitionActionMapping.put(state, transitionActionMapping);
+                final TransitAction<K, S, T> existing = actionTable[state.ordinal()][transition
+                                .ordinal()];
+                if (existing != null && existing != action) {
+                    this.logger.warn("Duplicate transit action for {}.{}, {} replaced by {}",
+                                    state, transition, existing.getClass().getName(),
+                                    action.getClass().getName());
                 }
-                transitionActionMapping.put(action.getTransition(), action);
+                actionTable[state.ordinal()][transition.ordinal()] = action;
+                transitionSets[state.ordinal()].add(transition);
             }
         }
+        final Map<T, TransitionMetrics> metrics = new EnumMap<>(this.transitionClass);
+        for (final T transition : transitions) {
+            metrics.put(transition, new TransitionMetrics());
+        }
+        this.actionTable = actionTable;
+        this.transitionSets = transitionSets;
+        this.metrics = Collections.unmodifiableMap(metrics);
+    }
+
+    @Override
+    public void afterInitialized(final ApplicationContext context) throws Exception {
+        validateReachability();
+    }
+
+    /**
+     * 校验各具有转换动作的状态是否均可自起始状态到达。下一个状态与上下文有关而无法静态确定时放弃校验
+     */
+    private void validateReachability() {
+        if (this.startState == null || this.actionTable == null) {
+            return;
+        }
+        final Set<S> reached = EnumSet.of(this.startState);
+        final Queue<S> queue = new ArrayDeque<>(reached);
+        while (!queue.isEmpty()) {
+            final S state = queue.poll();
+            for (final T transition : this.transitionSets[state.ordinal()]) {
+                final S nextState;
+                try {
+                    nextState = this.actionTable[state.ordinal()][transition.ordinal()]
+                                    .getNextState(state, null);
+                } catch (final RuntimeException e) {
+                    this.logger.debug("Skip reachability validation: next state of {}.{} depends on context",
+                                    state, transition);
+                    return;
+                }
+                if (nextState == null) {
+                    this.logger.debug("Skip reachability validation: next state of {}.{} depends on context",
+                                    state, transition);
+                    return;
+                }
+                if (reached.add(nextState)) {
+                    queue.add(nextState);
+                }
+            }
+        }
+        for (final S state : this.stateClass.getEnumConstants()) {
+            if (!reached.contains(state) && !this.transitionSets[state.ordinal()].isEmpty()) {
+                this.logger.warn("State {} is unreachable from start state {}", state,
+                                this.startState);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return 转换-吞吐量统计映射集
+     */
+    public Map<T, TransitionMetrics> getMetrics() {
+        return this.metrics;
     }
 
     @Override
@@ -72,22 +207,15 @@ public class StateMachineImpl<K extends Serializable, S extends Enum<S>, T exten
 
     @Override
     public Set<T> getTransitions(final S state) {
-        final Set<T> transitions = new HashSet<>();
-        final Map<T, TransitAction<K, S, T>> transitionActionMapping = this.stateTransitionActionMapping
-                        .get(state);
-        if (transitionActionMapping != null) {
-            transitions.addAll(transitionActionMapping.keySet());
+        if (state != null && this.transitionSets != null) {
+            return this.transitionSets[state.ordinal()].clone();
         }
-        return transitions;
+        return new HashSet<>();
     }
 
     private TransitAction<K, S, T> getTransitAction(final S state, final T transition) {
-        if (state != null && transition != null) {
-            final Map<T, TransitAction<K, S, T>> transitionActionMapping = this.stateTransitionActionMapping
-                            .get(state);
-            if (transitionActionMapping != null) {
-                return transitionActionMapping.get(transition);
-            }
+        if (state != null && transition != null && this.actionTable != null) {
+            return this.actionTable[state.ordinal()][transition.ordinal()];
         }
         return null;
     }
@@ -106,11 +234,136 @@ public class StateMachineImpl<K extends Serializable, S extends Enum<S>, T exten
     @WriteTransactional
     public void transit(final E event) throws HandleableException {
         final K key = event.getKey();
+        final T transition = event.getTransition();
         final S state = this.stateGetter.getState(key);
-        final TransitAction<K, S, T> action = getTransitAction(state, event.getTransition());
+        final TransitAction<K, S, T> action = getTransitAction(state, transition);
         if (action == null) {
-            throw new UnsupportedTransitionException(state, event.getTransition());
+            throw new UnsupportedTransitionException(state, transition);
         }
+        final long startTime = System.nanoTime();
         action.execute(key, event.getContext());
+        recordMetrics(transition, 1, System.nanoTime() - startTime);
+    }
+
+    @Override
+    @WriteTransactional
+    public BatchTransitResult<K> transit(final Collection<K> keys, final T transition,
+                    final Object context) throws HandleableException {
+        final BatchTransitResult<K> result = new BatchTransitResult<>();
+        final long startTime = System.nanoTime();
+        final List<K> keyList = new ArrayList<>(keys);
+        for (int from = 0; from < keyList.size(); from += this.chunkSize) {
+            final List<K> chunk = keyList.subList(from,
+                            Math.min(from + this.chunkSize, keyList.size()));
+            executeChunk(chunk, transition, context, result);
+        }
+        final int count = result.getTransitedKeys().size();
+        final long nanos = System.nanoTime() - startTime;
+        recordMetrics(transition, count, nanos);
+        this.logger.debug("Transited {} entities by {} in {}ms", count, transition,
+                        nanos / 1000000);
+        return result;
+    }
+
+    private Map<S, List<K>> groupByState(final Collection<K> keys) {
+        final Map<K, S> states;
+        if (this.stateGetter instanceof BatchStateGetter) {
+            states = ((BatchStateGetter<K, S>) this.stateGetter).getStates(keys);
+        } else {
+            states = new LinkedHashMap<>();
+            for (final K key : keys) {
+                states.put(key, this.stateGetter.getState(key));
+            }
+        }
+        final Map<S, List<K>> groups = new LinkedHashMap<>();
+        final List<K> missing = new ArrayList<>();
+        for (final K key : keys) {
+            final S state = states.get(key);
+            if (state == null) {
+                missing.add(key);
+            } else {
+                List<K> group = groups.get(state);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    groups.put(state, group);
+                }
+                group.add(key);
+            }
+        }
+        if (missing.size() > 0) { // 状态为null的实体放在一个不支持任何转换的分组中
+            groups.put(null, missing);
+        }
+        return groups;
+    }
+
+    private void executeChunk(final List<K> keys, final T transition, final Object context,
+                    final BatchTransitResult<K> result) throws HandleableException {
+        if (this.transactionTemplate == null) {
+            transitChunk(keys, transition, context, result);
+            return;
+        }
+        try {
+            this.transactionTemplate.execute(status -> {
+                try {
+                    transitChunk(keys, transition, context, result);
+                } catch (final HandleableException e) {
+                    // 受检异常无法穿过事务回调，包装后抛出以回滚本块事务
+                    throw new ChunkFailedException(e);
+                }
+                return null;
+            });
+        } catch (final ChunkFailedException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 在当前事务中读取各实体的当前状态，按状态分组后执行转换动作。
+     * 同一状态的实体只需查找一次转换动作，与单个转换一样仅以是否存在转换动作判断是否支持转换
+     */
+    private void transitChunk(final List<K> keys, final T transition, final Object context,
+                    final BatchTransitResult<K> result) throws HandleableException {
+        for (final Entry<S, List<K>> entry : groupByState(keys).entrySet()) {
+            final S state = entry.getKey();
+            final List<K> stateKeys = entry.getValue();
+            final TransitAction<K, S, T> action = getTransitAction(state, transition);
+            if (action == null) {
+                result.addUnsupportedKeys(stateKeys);
+            } else {
+                execute(action, stateKeys, context);
+                result.addTransitedKeys(stateKeys);
+            }
+        }
+    }
+
+    private void execute(final TransitAction<K, S, T> action, final List<K> keys,
+                    final Object context) throws HandleableException {
+        if (action instanceof BatchTransitAction) {
+            ((BatchTransitAction<K, S, T>) action).execute(keys, context);
+        } else {
+            for (final K key : keys) {
+                action.execute(key, context);
+            }
+        }
+    }
+
+    private void recordMetrics(final T transition, final int count, final long nanos) {
+        final TransitionMetrics transitionMetrics = this.metrics.get(transition);
+        if (transitionMetrics != null) {
+            transitionMetrics.record(count, nanos);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class ChunkFailedException extends RuntimeException {
+
+        public ChunkFailedException(final HandleableException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized HandleableException getCause() {
+            return (HandleableException) super.getCause();
+        }
     }
 }
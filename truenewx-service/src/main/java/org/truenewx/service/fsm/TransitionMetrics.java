@@ -0,0 +1,46 @@
+package org.truenewx.service.fsm;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 转换的吞吐量统计
+ *
+ * @author jianglei
+ * @since JDK 1.8
+ */
+public class TransitionMetrics {
+
+    private AtomicLong count = new AtomicLong();
+    private AtomicLong nanos = new AtomicLong();
+
+    void record(final int count, final long nanos) {
+        this.count.addAndGet(count);
+        this.nanos.addAndGet(nanos);
+    }
+
+    /**
+     *
+     * @return 已转换的实体总数
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     *
+     * @return 转换的累计耗时（毫秒）
+     */
+    public long getTime() {
+        return this.nanos.get() / 1000000;
+    }
+
+    /**
+     *
+     * @return 每秒转换的实体数量，尚无转换时为0
+     */
+    public double getThroughput() {
+        final long nanos = this.nanos.get();
+        return nanos == 0 ? 0 : this.count.get() * 1e9 / nanos;
+    }
+
+}
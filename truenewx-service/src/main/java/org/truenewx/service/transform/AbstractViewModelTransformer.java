@@ -2,12 +2,22 @@ package org.truenewx.service.transform;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.truenewx.data.model.UnitaryEntity;
 import org.truenewx.data.model.ViewModel;
+import org.truenewx.data.orm.AssociationPrefetcher;
 
 /**
- * 抽象的视图模型转换器
+ * 抽象的视图模型转换器<br/>
+ * 转换实体集合时，先批量预取子类声明的关联，再逐个转换；指定了线程池且集合足够大时，分块并行转换
  *
  * @author jianglei
  * @since JDK 1.8
@@ -15,23 +25,135 @@ import org.truenewx.data.model.ViewModel;
 public abstract class AbstractViewModelTransformer<T extends UnitaryEntity<?>, V extends ViewModel<T>>
                 implements ViewModelTransformer<T, V> {
 
+    private AssociationPrefetcher associationPrefetcher;
+    /**
+     * 并行转换所用的线程池，为null时不并行转换
+     */
+    private ExecutorService executor;
+    /**
+     * 并行转换的实体数量阈值
+     */
+    private int parallelThreshold = 100;
+    private AtomicLong transformedCount = new AtomicLong();
+    private AtomicLong transformedTime = new AtomicLong();
+    private Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Autowired(required = false)
+    public void setAssociationPrefetcher(final AssociationPrefetcher associationPrefetcher) {
+        this.associationPrefetcher = associationPrefetcher;
+    }
+
+    /**
+     * 设置并行转换所用的线程池，线程池的大小即限定了并行度。<br/>
+     * <strong>注意：</strong>并行转换时不可访问未预取的延迟加载关联，因为持久化会话不能跨线程使用
+     *
+     * @param executor
+     *            线程池
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param parallelThreshold
+     *            并行转换的实体数量阈值，实体数量达到该值时才并行转换，默认为100
+     */
+    public void setParallelThreshold(final int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     *
+     * @return 已通过集合转换方法转换的实体总数
+     */
+    public long getTransformedCount() {
+        return this.transformedCount.get();
+    }
+
+    /**
+     *
+     * @return 集合转换方法的累计耗时（毫秒）
+     */
+    public long getTransformedTime() {
+        return this.transformedTime.get();
+    }
+
+    /**
+     * 获取转换时需访问的关联属性路径集，转换实体集合前将批量预取这些关联。默认没有，由子类覆写
+     *
+     * @return 关联属性路径集，如：user、user.department
+     */
+    protected String[] getPrefetchedAssociations() {
+        return new String[0];
+    }
+
     @Override
     public Collection<V> transform(final Collection<T> entities) {
         if (entities != null) {
             final Collection<V> views = newViewCollection(entities);
-            if (views != null) {
-                for (final T entity : entities) {
-                    final V view = transform(entity);
-                    if (view != null) {
-                        views.add(view);
-                    }
+            if (views != null && entities.size() > 0) {
+                final long startTime = System.currentTimeMillis();
+                final String[] associations = getPrefetchedAssociations();
+                if (this.associationPrefetcher != null && associations.length > 0) {
+                    this.associationPrefetcher.prefetch(entities, associations);
                 }
+                if (this.executor != null && entities.size() >= this.parallelThreshold) {
+                    transformInParallel(entities, views);
+                } else {
+                    transform(entities, views);
+                }
+                final long time = System.currentTimeMillis() - startTime;
+                this.transformedCount.addAndGet(entities.size());
+                this.transformedTime.addAndGet(time);
+                this.logger.debug("Transformed {} entities in {}ms", entities.size(), time);
             }
             return views;
         }
         return null;
     }
 
+    private void transform(final Iterable<T> entities, final Collection<V> views) {
+        for (final T entity : entities) {
+            final V view = transform(entity);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+    }
+
+    private void transformInParallel(final Collection<T> entities, final Collection<V> views) {
+        final List<T> list = new ArrayList<>(entities);
+        // 每块包含并行阈值一半数量的实体，以免任务过碎
+        final int chunkSize = Math.max(1, this.parallelThreshold / 2);
+        final List<Future<List<V>>> futures = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += chunkSize) {
+            final List<T> chunk = list.subList(from, Math.min(from + chunkSize, list.size()));
+            futures.add(this.executor.submit(() -> {
+                final List<V> chunkViews = new ArrayList<>(chunk.size());
+                transform(chunk, chunkViews);
+                return chunkViews;
+            }));
+        }
+        try {
+            for (final Future<List<V>> future : futures) { // 按块顺序合并，保持原有顺序
+                views.addAll(future.get());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (final Future<List<V>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
     /**
      * 创建视图模型集合<br/>
      * 默认采用反射机制创建与实体集合类型相同的集合对象，子类可覆写，提供性能表现更好的实现
@@ -1,6 +1,8 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 import javax.annotation.Nullable;
 
@@ -242,6 +244,113 @@ public abstract class AbstractOwnedUnityService<T extends OwnedUnity<K, O>, K ex
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public int addAll(final O owner, final Collection<? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        if (owner == null) {
+            return 0;
+        }
+        beforeAddAll(owner, submitModels);
+        return writeAll(submitModels, submitModel -> {
+            final T unity = beforeSave(owner, null, submitModel);
+            if (unity != null) {
+                Assert.isTrue(owner.equals(unity.getOwner()));
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, getDao()::flush, getDao()::evict, null);
+    }
+
+    @Override
+    public int updateAll(final O owner, final Map<K, ? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        if (owner == null) {
+            return 0;
+        }
+        beforeUpdateAll(owner, submitModels);
+        return writeAll(submitModels.entrySet(), entry -> {
+            final K id = entry.getKey();
+            if (id == null) {
+                return null;
+            }
+            final T unity = beforeSave(owner, id, entry.getValue());
+            if (unity != null) {
+                Assert.isTrue(owner.equals(unity.getOwner()) && id.equals(unity.getId()));
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, getDao()::flush, getDao()::evict,
+                entry -> !getDao().isCached(entry.getKey()));
+    }
+
+    /**
+     * 在批量添加单体前调用，可由子类覆写以对提交模型集进行整体校验，如用一次查询校验唯一性<br/>
+     * 之后仍将对每一个提交模型调用单个添加时的校验方法
+     *
+     * @param owner
+     *            所属者
+     * @param submitModels
+     *            存放添加数据的提交模型对象集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeAddAll(final O owner,
+            final Collection<? extends SubmitModel<T>> submitModels) throws HandleableException {
+    }
+
+    /**
+     * 在批量修改单体前调用，可由子类覆写以对提交模型集进行整体校验<br/>
+     * 之后仍将对每一个提交模型调用单个修改时的校验方法
+     *
+     * @param owner
+     *            所属者
+     * @param submitModels
+     *            要修改单体的标识-存放修改数据的提交模型对象的映射集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeUpdateAll(final O owner,
+            final Map<K, ? extends SubmitModel<T>> submitModels) throws HandleableException {
+    }
+
+    @Override
+    public int deleteAll(final O owner, final Collection<K> ids) throws HandleableException {
+        if (owner == null) {
+            return 0;
+        }
+        beforeDeleteAll(owner, ids);
+        return writeAll(ids, id -> {
+            if (id == null) {
+                return null;
+            }
+            T unity = beforeDelete(owner, id);
+            if (unity == null) {
+                unity = find(owner, id);
+            }
+            if (unity != null) {
+                getDao().delete(unity);
+            }
+            return unity;
+        }, getDao()::flush, null, null);
+    }
+
+    /**
+     * 在批量删除单体前调用，可由子类覆写以对标识集进行整体校验<br/>
+     * 之后仍将对每一个标识调用单个删除时的校验方法
+     *
+     * @param owner
+     *            所属者
+     * @param ids
+     *            要删除的单体的标识集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeDeleteAll(final O owner, final Collection<K> ids)
+            throws HandleableException {
+    }
+
     @Override
     protected abstract OwnedUnityDao<T, K, O> getDao();
 
@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -251,6 +252,113 @@ public abstract class AbstractSlicedUnityService<T extends SlicedUnity<K, S>, K
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public int addAll(final S slicer, final Collection<? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        if (slicer == null) {
+            return 0;
+        }
+        beforeAddAll(slicer, submitModels);
+        return writeAll(submitModels, submitModel -> {
+            final T unity = beforeSave(slicer, null, submitModel);
+            if (unity != null) {
+                Assert.isTrue(slicer.equals(unity.getSlicer()));
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, () -> getDao().flush(slicer), getDao()::evict, null);
+    }
+
+    @Override
+    public int updateAll(final S slicer, final Map<K, ? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        if (slicer == null) {
+            return 0;
+        }
+        beforeUpdateAll(slicer, submitModels);
+        return writeAll(submitModels.entrySet(), entry -> {
+            final K id = entry.getKey();
+            if (id == null) {
+                return null;
+            }
+            final T unity = beforeSave(slicer, id, entry.getValue());
+            if (unity != null) {
+                Assert.isTrue(slicer.equals(unity.getSlicer()) && id.equals(unity.getId()));
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, () -> getDao().flush(slicer), getDao()::evict,
+                entry -> !getDao().isCached(slicer, entry.getKey()));
+    }
+
+    /**
+     * 在批量添加单体前调用，可由子类覆写以对提交模型集进行整体校验，如用一次查询校验唯一性<br/>
+     * 之后仍将对每一个提交模型调用单个添加时的校验方法
+     *
+     * @param slicer
+     *            切分者
+     * @param submitModels
+     *            存放添加数据的提交模型对象集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeAddAll(final S slicer,
+            final Collection<? extends SubmitModel<T>> submitModels) throws HandleableException {
+    }
+
+    /**
+     * 在批量修改单体前调用，可由子类覆写以对提交模型集进行整体校验<br/>
+     * 之后仍将对每一个提交模型调用单个修改时的校验方法
+     *
+     * @param slicer
+     *            切分者
+     * @param submitModels
+     *            要修改单体的标识-存放修改数据的提交模型对象的映射集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeUpdateAll(final S slicer,
+            final Map<K, ? extends SubmitModel<T>> submitModels) throws HandleableException {
+    }
+
+    @Override
+    public int deleteAll(final S slicer, final Collection<K> ids) throws HandleableException {
+        if (slicer == null) {
+            return 0;
+        }
+        beforeDeleteAll(slicer, ids);
+        return writeAll(ids, id -> {
+            if (id == null) {
+                return null;
+            }
+            T unity = beforeDelete(slicer, id);
+            if (unity == null) {
+                unity = find(slicer, id);
+            }
+            if (unity != null) {
+                getDao().delete(unity);
+            }
+            return unity;
+        }, () -> getDao().flush(slicer), null, null);
+    }
+
+    /**
+     * 在批量删除单体前调用，可由子类覆写以对标识集进行整体校验<br/>
+     * 之后仍将对每一个标识调用单个删除时的校验方法
+     *
+     * @param slicer
+     *            切分者
+     * @param ids
+     *            要删除的单体的标识集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeDeleteAll(final S slicer, final Collection<K> ids)
+            throws HandleableException {
+    }
+
     protected abstract SlicedUnityDao<T, K, S> getDao();
 
 }
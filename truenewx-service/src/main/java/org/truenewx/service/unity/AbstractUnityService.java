@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -238,6 +239,96 @@ public abstract class AbstractUnityService<T extends Unity<K>, K extends Seriali
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public int addAll(final Collection<? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        beforeAddAll(submitModels);
+        return writeAll(submitModels, submitModel -> {
+            final T unity = beforeSave(null, submitModel);
+            if (unity != null) {
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, getDao()::flush, getDao()::evict, null);
+    }
+
+    @Override
+    public int updateAll(final Map<K, ? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+        beforeUpdateAll(submitModels);
+        return writeAll(submitModels.entrySet(), entry -> {
+            final K id = entry.getKey();
+            if (id == null) {
+                return null;
+            }
+            final T unity = beforeSave(id, entry.getValue());
+            if (unity != null) {
+                Assert.isTrue(id.equals(unity.getId()));
+                getDao().save(unity);
+                afterSave(unity);
+            }
+            return unity;
+        }, getDao()::flush, getDao()::evict,
+                entry -> !getDao().isCached(entry.getKey()));
+    }
+
+    /**
+     * 在批量添加单体前调用，可由子类覆写以对提交模型集进行整体校验，如用一次查询校验唯一性<br/>
+     * 之后仍将对每一个提交模型调用单个添加时的校验方法
+     *
+     * @param submitModels
+     *            存放添加数据的提交模型对象集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeAddAll(final Collection<? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+    }
+
+    /**
+     * 在批量修改单体前调用，可由子类覆写以对提交模型集进行整体校验<br/>
+     * 之后仍将对每一个提交模型调用单个修改时的校验方法
+     *
+     * @param submitModels
+     *            要修改单体的标识-存放修改数据的提交模型对象的映射集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeUpdateAll(final Map<K, ? extends SubmitModel<T>> submitModels)
+            throws HandleableException {
+    }
+
+    @Override
+    public int deleteAll(final Collection<K> ids) throws HandleableException {
+        beforeDeleteAll(ids);
+        return writeAll(ids, id -> {
+            if (id == null) {
+                return null;
+            }
+            T unity = beforeDelete(id);
+            if (unity == null) {
+                unity = find(id);
+            }
+            if (unity != null) {
+                getDao().delete(unity);
+            }
+            return unity;
+        }, getDao()::flush, null, null);
+    }
+
+    /**
+     * 在批量删除单体前调用，可由子类覆写以对标识集进行整体校验<br/>
+     * 之后仍将对每一个标识调用单个删除时的校验方法
+     *
+     * @param ids
+     *            要删除的单体的标识集
+     * @throws HandleableException
+     *             如果校验不通过
+     */
+    protected void beforeDeleteAll(final Collection<K> ids) throws HandleableException {
+    }
+
     protected abstract UnityDao<T, K> getDao();
 
 }
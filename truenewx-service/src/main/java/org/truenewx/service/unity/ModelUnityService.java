@@ -1,6 +1,8 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 import org.truenewx.core.exception.HandleableException;
 import org.truenewx.data.model.SubmitModel;
@@ -39,4 +41,28 @@ public interface ModelUnityService<T extends Unity<K>, K extends Serializable>
      */
     T update(K id, SubmitModel<T> submitModel) throws HandleableException;
 
+    /**
+     * 批量添加单体，每批次数据写入后即同步至数据库，并将已添加的单体移出缓存，使其脱离持久化管理
+     *
+     * @param submitModels
+     *            存放添加数据的提交模型对象集
+     * @return 添加的单体数量
+     * @throws HandleableException
+     *             如果添加校验失败
+     */
+    int addAll(Collection<? extends SubmitModel<T>> submitModels)
+                    throws HandleableException;
+
+    /**
+     * 批量修改单体，每批次数据写入后即同步至数据库，并将本次批量修改中加载的单体移出缓存，调用前已加载者不受影响
+     *
+     * @param submitModels
+     *            要修改单体的标识-存放修改数据的提交模型对象的映射集
+     * @return 修改的单体数量
+     * @throws HandleableException
+     *             如果修改校验失败
+     */
+    int updateAll(Map<K, ? extends SubmitModel<T>> submitModels)
+                    throws HandleableException;
+
 }
@@ -1,6 +1,8 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
 
 import org.truenewx.core.exception.HandleableException;
 import org.truenewx.data.model.SubmitModel;
@@ -57,4 +59,36 @@ public interface OwnedModelSlicedUnityService<T extends OwnedSlicedUnity<K, S, O
      */
     T update(S slicer, O owner, K id, SubmitModel<T> submitModel) throws HandleableException;
 
+    /**
+     * 在指定切分者下批量添加具有所属者的单体，每批次数据写入后即同步至数据库，并将已添加的具有所属者的单体移出缓存，使其脱离持久化管理
+     *
+     * @param slicer
+     *            切分者
+     * @param owner
+     *            所属者
+     * @param submitModels
+     *            存放添加数据的提交模型对象集
+     * @return 添加的具有所属者的单体数量
+     * @throws HandleableException
+     *             如果添加校验失败
+     */
+    int addAll(S slicer, O owner, Collection<? extends SubmitModel<T>> submitModels)
+                    throws HandleableException;
+
+    /**
+     * 在指定切分者下批量修改具有所属者的单体，每批次数据写入后即同步至数据库，并将本次批量修改中加载的具有所属者的单体移出缓存，调用前已加载者不受影响
+     *
+     * @param slicer
+     *            切分者
+     * @param owner
+     *            所属者
+     * @param submitModels
+     *            要修改单体的标识-存放修改数据的提交模型对象的映射集
+     * @return 修改的具有所属者的单体数量
+     * @throws HandleableException
+     *             如果修改校验失败
+     */
+    int updateAll(S slicer, O owner, Map<K, ? extends SubmitModel<T>> submitModels)
+                    throws HandleableException;
+
 }
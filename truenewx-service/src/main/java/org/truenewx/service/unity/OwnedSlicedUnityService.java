@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.truenewx.core.exception.BusinessException;
 import org.truenewx.core.exception.HandleableException;
@@ -54,4 +55,19 @@ public interface OwnedSlicedUnityService<T extends OwnedSlicedUnity<K, S, O>, K
      */
     void delete(S slicer, O owner, K id) throws HandleableException;
 
+    /**
+     * 在指定切分者下批量删除指定具有所属者的单体，每批次数据删除后即同步至数据库
+     *
+     * @param slicer
+     *            切分者
+     * @param owner
+     *            所属者
+     * @param ids
+     *            要删除的单体的标识集
+     * @return 删除的具有所属者的单体数量
+     * @throws HandleableException
+     *             如果删除校验失败
+     */
+    int deleteAll(S slicer, O owner, Collection<K> ids) throws HandleableException;
+
 }
@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.truenewx.core.exception.BusinessException;
 import org.truenewx.core.exception.HandleableException;
@@ -45,4 +46,18 @@ public interface OwnedUnityService<T extends OwnedUnity<K, O>, K extends Seriali
      *             如果删除校验失败
      */
     void delete(O owner, K id) throws HandleableException;
+
+    /**
+     * 批量删除指定具有所属者的单体，每批次数据删除后即同步至数据库
+     *
+     * @param owner
+     *            所属者
+     * @param ids
+     *            要删除的单体的标识集
+     * @return 删除的具有所属者的单体数量
+     * @throws HandleableException
+     *             如果删除校验失败
+     */
+    int deleteAll(O owner, Collection<K> ids) throws HandleableException;
+
 }
@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.truenewx.core.exception.BusinessException;
 import org.truenewx.core.exception.HandleableException;
@@ -48,4 +49,17 @@ public interface SlicedUnityService<T extends SlicedUnity<K, S>, K extends Seria
      */
     void delete(S slicer, K id) throws HandleableException;
 
+    /**
+     * 在指定切分者下批量删除指定单体，每批次数据删除后即同步至数据库
+     *
+     * @param slicer
+     *            切分者
+     * @param ids
+     *            要删除的单体的标识集
+     * @return 删除的单体数量
+     * @throws HandleableException
+     *             如果删除校验失败
+     */
+    int deleteAll(S slicer, Collection<K> ids) throws HandleableException;
+
 }
@@ -1,6 +1,7 @@
 package org.truenewx.service.unity;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.truenewx.core.exception.BusinessException;
 import org.truenewx.core.exception.HandleableException;
@@ -41,4 +42,16 @@ public interface UnityService<T extends Unity<K>, K extends Serializable>
      *             如果删除校验失败
      */
     void delete(K id) throws HandleableException;
+
+    /**
+     * 批量删除指定单体，每批次数据删除后即同步至数据库
+     *
+     * @param ids
+     *            要删除的单体的标识集
+     * @return 删除的单体数量
+     * @throws HandleableException
+     *             如果删除校验失败
+     */
+    int deleteAll(Collection<K> ids) throws HandleableException;
+
 }
@@ -1,23 +1,26 @@
 package org.truenewx.web.qrcode.tag;
 
 import java.awt.Color;
-import java.awt.Graphics2D;
-import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.imageio.ImageIO;
 import javax.servlet.jsp.JspException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.truenewx.core.Strings;
 import org.truenewx.core.encrypt.Md5Encrypter;
 import org.truenewx.core.util.IOUtil;
+import org.truenewx.core.util.ImageUtil;
 import org.truenewx.web.tagext.UiTagSupport;
 
 import com.google.zxing.BarcodeFormat;
@@ -136,25 +139,21 @@ public class QrCodeTag extends UiTagSupport {
             bitMatrix = updateBit(bitMatrix, 0);
             // 将二维码转换为BufferedImage
             BufferedImage image = toBufferedImage(bitMatrix);
-            image = IOUtil.zoomImage(image, this.size);
+            image = ImageUtil.zoom(image, this.size);
             // 载入logo
             if (StringUtils.isNotEmpty(this.logo)) {
-                Image logoImage;
+                final BufferedImage logoImage;
                 if (this.logo.startsWith("http")) {
                     final URL url = new URL(this.logo);
-                    final InputStream is = url.openConnection().getInputStream();
-                    logoImage = ImageIO.read(is);
+                    try (InputStream is = url.openConnection().getInputStream()) {
+                        logoImage = ImageUtil.read(is);
+                    }
                 } else {
-                    logoImage = ImageIO.read(new File(baseDir + this.logo));
+                    try (InputStream is = new FileInputStream(baseDir + this.logo)) {
+                        logoImage = ImageUtil.read(is);
+                    }
                 }
-                final Graphics2D gs = image.createGraphics();
-                final int logoWidth = logoImage.getWidth(null);
-                final int logoHeight = logoImage.getHeight(null);
-                final int logoX = (this.size - logoWidth) / 2;
-                final int logoY = (this.size - logoHeight) / 2;
-                gs.drawImage(logoImage, logoX, logoY, null);
-                gs.dispose();
-                logoImage.flush();
+                ImageUtil.drawCenter(image, logoImage);
             }
 
             // 验证文件夹是否存在
@@ -165,7 +164,9 @@ public class QrCodeTag extends UiTagSupport {
 
             // 保存二维码图片
             final File outputFile = new File(baseDir + dir + md5 + Strings.DOT + EXTENSION);
-            ImageIO.write(image, EXTENSION, outputFile);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                ImageUtil.write(image, EXTENSION, out);
+            }
 
             // 输出标签
             print("<img");
@@ -190,10 +191,14 @@ public class QrCodeTag extends UiTagSupport {
         final int width = matrix.getWidth();
         final int height = matrix.getHeight();
         final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                image.setRGB(x, y, matrix.get(x, y) ? Color.BLACK.getRGB() : Color.WHITE.getRGB());
+        // 直接写入像素数组，避免逐像素调用setRGB时的颜色模型转换
+        final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        final int black = Color.BLACK.getRGB();
+        final int white = Color.WHITE.getRGB();
+        for (int y = 0; y < height; y++) {
+            final int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                pixels[offset + x] = matrix.get(x, y) ? black : white;
             }
         }
         return image;
@@ -1,5 +1,6 @@
 package org.truenewx.web.region.tag;
 
+import java.io.IOException;
 import java.net.Inet4Address;
 
 import javax.servlet.ServletRequest;
@@ -7,7 +8,12 @@ import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.tagext.TagSupport;
 
 import org.apache.taglibs.standard.lang.support.ExpressionEvaluatorManager;
+import org.springframework.context.ApplicationContext;
+import org.truenewx.core.region.RegionCaptionSource;
+import org.truenewx.core.region.address.InetAddressRegionResolver;
+import org.truenewx.core.spring.util.SpringUtil;
 import org.truenewx.core.util.NetUtil;
+import org.truenewx.web.spring.util.SpringWebUtil;
 
 /**
  * IPv4-区划映射标签
@@ -20,11 +26,50 @@ public class Inet4AddressRegionTag extends TagSupport {
 
     private String ip;
 
+    /**
+     * 分隔符
+     */
+    private String delimiter = "";
+
+    /**
+     * 起始层级
+     */
+    private int startLevel = 2;
+
+    /**
+     * 结束层级
+     */
+    private int endLevel = 4;
+
     public void setIp(final String ip) throws JspException {
         this.ip = (String) ExpressionEvaluatorManager.evaluate("ip", ip, String.class,
                 this.pageContext);
     }
 
+    /**
+     * @param delimiter
+     *            分隔符
+     */
+    public void setDelimiter(final String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * @param startLevel
+     *            起始层级
+     */
+    public void setStartLevel(final int startLevel) {
+        this.startLevel = startLevel;
+    }
+
+    /**
+     * @param endLevel
+     *            结束层级
+     */
+    public void setEndLevel(final int endLevel) {
+        this.endLevel = endLevel;
+    }
+
     @Override
     public int doEndTag() throws JspException {
         if (this.ip == null) {
@@ -33,7 +78,24 @@ public class Inet4AddressRegionTag extends TagSupport {
         }
         final Inet4Address address = NetUtil.getInet4Address(this.ip);
         if (address != null) {
-
+            final ApplicationContext context = SpringWebUtil
+                    .getApplicationContext(this.pageContext);
+            final InetAddressRegionResolver resolver = SpringUtil.getFirstBeanByClass(context,
+                    InetAddressRegionResolver.class);
+            final RegionCaptionSource regionCaptionSource = SpringUtil
+                    .getFirstBeanByClass(context, RegionCaptionSource.class);
+            if (resolver != null && regionCaptionSource != null) {
+                final String regionCode = resolver.resolveRegionCode(address);
+                if (regionCode != null) {
+                    try {
+                        this.pageContext.getOut().print(regionCaptionSource.getCaption(
+                                regionCode, this.startLevel, this.endLevel, this.delimiter,
+                                this.pageContext.getRequest().getLocale()));
+                    } catch (final IOException e) {
+                        throw new JspException(e);
+                    }
+                }
+            }
         }
         return EVAL_PAGE;
     }
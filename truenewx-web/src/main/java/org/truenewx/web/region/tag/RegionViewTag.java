@@ -1,8 +1,6 @@
 package org.truenewx.web.region.tag;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.servlet.jsp.JspException;
 import javax.servlet.jsp.JspWriter;
@@ -10,8 +8,7 @@ import javax.servlet.jsp.tagext.Tag;
 import javax.servlet.jsp.tagext.TagSupport;
 
 import org.springframework.context.ApplicationContext;
-import org.truenewx.core.region.Region;
-import org.truenewx.core.region.RegionSource;
+import org.truenewx.core.region.RegionCaptionSource;
 import org.truenewx.core.spring.util.SpringUtil;
 import org.truenewx.web.spring.util.SpringWebUtil;
 
@@ -79,31 +76,10 @@ public class RegionViewTag extends TagSupport {
 
     private String appendCaptions() {
         final ApplicationContext context = SpringWebUtil.getApplicationContext(this.pageContext);
-        final RegionSource regionSource = SpringUtil.getFirstBeanByClass(context,
-                RegionSource.class);
-        final Region region = regionSource.getRegion(this.value,
-                this.pageContext.getRequest().getLocale());
-
-        final List<String> captions = new ArrayList<>();
-        final StringBuffer caption = new StringBuffer();
-        if (region != null) {
-            Region parent = region.getParent();
-            captions.add(region.getCaption());
-            while (parent != null) {
-                captions.add(0, parent.getCaption());
-                parent = parent.getParent();
-            }
-            for (int i = this.startLevel - 1; i < captions.size(); i++) {
-                caption.append(captions.get(i)).append(this.delimiter);
-                if (i >= this.endLevel - 1) {
-                    break;
-                }
-            }
-            if (caption.length() > 0) {
-                caption.delete(caption.length() - this.delimiter.length(), caption.length());
-            }
-        }
-        return caption.toString();
+        final RegionCaptionSource regionCaptionSource = SpringUtil.getFirstBeanByClass(context,
+                RegionCaptionSource.class);
+        return regionCaptionSource.getCaption(this.value, this.startLevel, this.endLevel,
+                this.delimiter, this.pageContext.getRequest().getLocale());
     }
 
     @Override
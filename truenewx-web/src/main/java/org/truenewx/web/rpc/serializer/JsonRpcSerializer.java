@@ -1,5 +1,10 @@
 package org.truenewx.web.rpc.serializer;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.stereotype.Component;
 import org.truenewx.core.serializer.JsonSerializer;
 import org.truenewx.web.rpc.server.annotation.RpcResultFilter;
@@ -14,16 +19,30 @@ import com.alibaba.fastjson.JSON;
  */
 @Component
 public class JsonRpcSerializer extends JsonSerializer implements RpcSerializer {
+    /**
+     * 结果过滤设置-属性前置过滤器的映射集，注解按值判断相等，相同设置复用同一过滤器
+     */
+    private Map<List<RpcResultFilter>, JsonRpcResultPropertyPreFilter> preFilters = new ConcurrentHashMap<>();
 
     @Override
     public String serializeBean(final Object bean, final RpcResultFilter[] filters) {
         if (bean != null) {
             if (filters.length > 0) { // RPC结果有特殊设置，则启用过滤器
-                return JSON.toJSONString(bean, new JsonRpcResultPropertyPreFilter(filters));
+                return JSON.toJSONString(bean, getPreFilter(filters));
             } else {
                 return JSON.toJSONString(bean);
             }
         }
         return JSON.toJSONString(null);
     }
-}
\ No newline at end of file
+
+    private JsonRpcResultPropertyPreFilter getPreFilter(final RpcResultFilter[] filters) {
+        final List<RpcResultFilter> key = Arrays.asList(filters.clone());
+        JsonRpcResultPropertyPreFilter preFilter = this.preFilters.get(key);
+        if (preFilter == null) {
+            preFilter = new JsonRpcResultPropertyPreFilter(filters);
+            this.preFilters.put(key, preFilter);
+        }
+        return preFilter;
+    }
+}
@@ -57,12 +57,8 @@ public class ToJsonTag extends SimpleDynamicAttributeTagSupport {
                 && (this.extendValues == null || this.extendValues.isEmpty())) { // 无默认值和扩展值，则仅序列化取值
             if (this.value != null) {
                 try {
-                    String json = JsonUtil.toJson(this.value);
-                    if (this.toSingleQuote) {
-                        // 转换双引号为单引号，使在页面字符串中不与双引号冲突
-                        json = json.replace('\"', '\'');
-                    }
-                    print(json);
+                    // 需要时以单引号代替双引号，使在页面字符串中不与双引号冲突
+                    JsonUtil.writeJson(getJspContext().getOut(), this.value, this.toSingleQuote);
                 } catch (final Exception e) {
                     e.printStackTrace();
                     // 出现异常不打印任何字符
@@ -83,12 +79,8 @@ public class ToJsonTag extends SimpleDynamicAttributeTagSupport {
                 map.putAll(this.extendValues);
             }
             try {
-                String json = JsonUtil.toJson(map);
-                if (this.toSingleQuote) {
-                    // 转换双引号为单引号，使在页面字符串中不与双引号冲突
-                    json = json.replace('\"', '\'');
-                }
-                print(json);
+                // 需要时以单引号代替双引号，使在页面字符串中不与双引号冲突
+                JsonUtil.writeJson(getJspContext().getOut(), map, this.toSingleQuote);
             } catch (final Exception e) {
                 e.printStackTrace();
                 // 出现异常不打印任何字符
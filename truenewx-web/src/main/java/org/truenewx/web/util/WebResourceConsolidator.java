@@ -1,26 +1,90 @@
 package org.truenewx.web.util;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.commons.codec.binary.Hex;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.mozilla.javascript.ErrorReporter;
+import org.mozilla.javascript.EvaluatorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.Resource;
 import org.truenewx.core.spring.beans.ContextInitializedBean;
 
-import com.extjs.JSBuilder;
+import com.extjs.FileHelper;
+import com.yahoo.platform.yui.compressor.JavaScriptCompressor;
 
 /**
  * WEB资源压缩合并器<br/>
- * 针对CSS/JS文件进行压缩合并处理
- * 
+ * 针对CSS/JS文件进行压缩合并处理，配置文件格式与JSBuilder的jsb2文件相同。<br/>
+ * 每个资源包根据其配置及各输入文件的内容计算摘要，摘要未变化且输出文件已存在时跳过该资源包；
+ * 互不依赖的资源包并行构建，输入文件以流的方式拼接。<br/>
+ * 每个资源包除了输出原文件名的文件外，还输出以摘要为指纹的文件（如：all-0123456789ab.js），
+ * 并在输出目录中写入文件名到指纹文件名的清单文件，指纹文件内容不变，可设置长期缓存
+ *
  * @author jianglei
  * @since JDK 1.8
  */
 public class WebResourceConsolidator implements ContextInitializedBean {
 
+    private static final String DEBUG_SUFFIX = "-debug";
+    private static final String JS_EXTENSION = ".js";
+    private static final int FINGERPRINT_LENGTH = 12;
+    /**
+     * 压缩处理的版本，处理方式变化时须修改，以使已有输出全部失效
+     */
+    private static final String PIPELINE_VERSION = "1";
+
     /**
      * 配置文件路径
      */
     private String configFileName = "JSBuilder.jsb2";
+    /**
+     * 清单文件名称
+     */
+    private String manifestFileName = "manifest.json";
+    /**
+     * 并行构建所用的线程池，为null时每次构建临时创建
+     */
+    private ExecutorService executor;
+    /**
+     * 文件名-指纹文件名的映射集
+     */
+    private Map<String, String> manifest = Collections.emptyMap();
+    private Logger logger = LoggerFactory.getLogger(getClass());
 
     /**
      * @param configFileName
@@ -32,14 +96,372 @@ public class WebResourceConsolidator implements ContextInitializedBean {
         this.configFileName = configFileName;
     }
 
+    /**
+     * @param manifestFileName
+     *            清单文件名称，位于输出目录中，默认为manifest.json
+     */
+    public void setManifestFileName(final String manifestFileName) {
+        this.manifestFileName = manifestFileName;
+    }
+
+    /**
+     * 设置并行构建所用的线程池，线程池的大小即限定了同时构建的资源包数。
+     * 未设置时每次构建临时创建大小为处理器数的线程池
+     *
+     * @param executor
+     *            线程池
+     */
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     *
+     * @return 文件名-指纹文件名的映射集，文件名均相对于输出目录
+     */
+    public Map<String, String> getManifest() {
+        return this.manifest;
+    }
+
     @Override
     public void afterInitialized(final ApplicationContext context) throws Exception {
         final Resource resource = context.getResource(this.configFileName);
         if (resource.exists()) {
+            final long startTime = System.currentTimeMillis();
             final File file = resource.getFile();
-            final String projectFile = file.getAbsolutePath();
-            final String homeDir = file.getParentFile().getAbsolutePath();
-            JSBuilder.build(homeDir, projectFile);
+            final JSONObject config = new JSONObject(
+                    new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+            final File homeDir = file.getParentFile();
+            final File deployDir = new File(homeDir, config.getString("deployDir"));
+            deployDir.mkdirs();
+
+            final List<List<Bundle>> levels = loadBundles(config, homeDir, deployDir);
+            int builtCount = 0;
+            int bundleCount = 0;
+            final ExecutorService executor = this.executor == null ? Executors.newFixedThreadPool(
+                    Math.max(1, Runtime.getRuntime().availableProcessors())) : this.executor;
+            try {
+                // 按依赖层级逐层构建，同一层级的资源包互不依赖，可并行构建
+                for (final List<Bundle> bundles : levels) {
+                    builtCount += build(bundles, executor);
+                    bundleCount += bundles.size();
+                }
+            } finally {
+                if (executor != this.executor) {
+                    executor.shutdown();
+                }
+            }
+            copyResources(config, homeDir, deployDir);
+            writeManifest(levels, deployDir);
+            this.logger.info("Consolidated {} of {} web resource bundles in {}ms", builtCount,
+                    bundleCount, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private List<List<Bundle>> loadBundles(final JSONObject config, final File homeDir,
+            final File deployDir) throws JSONException {
+        final JSONArray pkgs = config.getJSONArray("pkgs");
+        final Map<String, Bundle> bundles = new LinkedHashMap<>();
+        final Map<Bundle, JSONArray> bundleDeps = new LinkedHashMap<>();
+        for (int i = 0; i < pkgs.length(); i++) {
+            final JSONObject pkg = pkgs.getJSONObject(i);
+            final Bundle bundle = new Bundle(pkg.getString("file"), deployDir);
+            if (pkg.optBoolean("includeDeps", false)) {
+                bundleDeps.put(bundle, pkg.getJSONArray("pkgDeps"));
+            } else {
+                final JSONArray fileIncludes = pkg.getJSONArray("fileIncludes");
+                for (int j = 0; j < fileIncludes.length(); j++) {
+                    final JSONObject fileCfg = fileIncludes.getJSONObject(j);
+                    bundle.inputs.add(new File(homeDir,
+                            fileCfg.getString("path") + fileCfg.getString("text")));
+                }
+            }
+            bundles.put(bundle.name, bundle);
+        }
+        // 所有资源包均加载后再解析依赖，以免依赖的资源包声明在后而无法识别
+        for (final Entry<Bundle, JSONArray> entry : bundleDeps.entrySet()) {
+            final Bundle bundle = entry.getKey();
+            final JSONArray pkgDeps = entry.getValue();
+            for (int j = 0; j < pkgDeps.length(); j++) {
+                final String depName = pkgDeps.getString(j);
+                final Bundle dep = bundles.get(depName);
+                if (dep != null) {
+                    bundle.deps.add(dep);
+                } else { // 依赖的不是已声明的资源包，视为输出目录中的普通文件，脚本文件取其未压缩文件
+                    bundle.inputs.add(new File(deployDir, depName.contains(JS_EXTENSION)
+                            ? insertSuffix(depName, DEBUG_SUFFIX) : depName));
+                }
+            }
+        }
+        final Set<Bundle> visiting = new HashSet<>();
+        final List<List<Bundle>> levels = new ArrayList<>();
+        for (final Bundle bundle : bundles.values()) {
+            computeLevel(bundle, visiting);
+            while (levels.size() <= bundle.level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(bundle.level).add(bundle);
+        }
+        return levels;
+    }
+
+    /**
+     * 计算资源包的依赖层级，即其依赖的资源包的最大层级加一
+     */
+    private int computeLevel(final Bundle bundle, final Set<Bundle> visiting) {
+        if (bundle.level < 0) {
+            if (!visiting.add(bundle)) {
+                throw new IllegalStateException(
+                        "Circular dependency of web resource bundle " + bundle.name);
+            }
+            int level = 0;
+            for (final Bundle dep : bundle.deps) {
+                level = Math.max(level, computeLevel(dep, visiting) + 1);
+            }
+            visiting.remove(bundle);
+            bundle.level = level;
+        }
+        return bundle.level;
+    }
+
+    /**
+     * 在指定文件名的扩展名前插入指定后缀，没有扩展名时追加在末尾
+     */
+    private static String insertSuffix(final String name, final String suffix) {
+        final int index = name.lastIndexOf('.');
+        if (index < 0 || index < name.lastIndexOf('/')) {
+            return name + suffix;
+        }
+        return name.substring(0, index) + suffix + name.substring(index);
+    }
+
+    private int build(final List<Bundle> bundles, final ExecutorService executor)
+            throws IOException {
+        final List<Future<Boolean>> futures = new ArrayList<>(bundles.size());
+        for (final Bundle bundle : bundles) {
+            futures.add(executor.submit(() -> build(bundle)));
+        }
+        int count = 0;
+        try {
+            for (final Future<Boolean> future : futures) {
+                if (future.get()) {
+                    count++;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (final Future<Boolean> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 构建资源包
+     *
+     * @return 是否实际进行了构建
+     */
+    private boolean build(final Bundle bundle) throws IOException {
+        bundle.hash = hash(bundle);
+        final File fingerprintedFile = bundle.getFingerprintedFile();
+        if (fingerprintedFile.exists() && bundle.getOutputFile().exists()
+                && bundle.getDebugFile().exists()) {
+            this.logger.debug("Web resource bundle {} is unchanged, skipped", bundle.name);
+            return false;
+        }
+        final File debugFile = bundle.getDebugFile();
+        debugFile.getParentFile().mkdirs();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(debugFile))) {
+            for (final Bundle dep : bundle.deps) {
+                Files.copy(dep.getDebugFile().toPath(), out);
+            }
+            for (final File input : bundle.inputs) {
+                Files.copy(input.toPath(), out);
+            }
+        }
+        if (bundle.isScript()) {
+            if (!compress(debugFile, bundle.getOutputFile())) {
+                return false; // 压缩失败时不生成指纹文件，以便下次启动时重新构建
+            }
+        }
+        // 先写入临时文件再移动，以免并发读取到不完整的指纹文件
+        final File tempFile = new File(fingerprintedFile.getPath() + ".tmp");
+        Files.copy(bundle.getOutputFile().toPath(), tempFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.move(tempFile.toPath(), fingerprintedFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        this.logger.debug("Built web resource bundle {} as {}", bundle.name,
+                fingerprintedFile.getName());
+        return true;
+    }
+
+    /**
+     * 计算资源包的摘要，包含处理版本、输出文件名、依赖资源包的摘要以及各输入文件的内容
+     */
+    private String hash(final Bundle bundle) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(PIPELINE_VERSION.getBytes(StandardCharsets.UTF_8));
+        digest.update(bundle.name.getBytes(StandardCharsets.UTF_8));
+        for (final Bundle dep : bundle.deps) {
+            digest.update(dep.hash.getBytes(StandardCharsets.UTF_8));
+        }
+        final byte[] buffer = new byte[8192];
+        for (final File input : bundle.inputs) {
+            try (InputStream in = new FileInputStream(input)) {
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+        }
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    private boolean compress(final File source, final File target) throws IOException {
+        try {
+            final JavaScriptCompressor compressor;
+            try (Reader in = new InputStreamReader(new FileInputStream(source),
+                    StandardCharsets.UTF_8)) {
+                compressor = new JavaScriptCompressor(in, new CompressorErrorReporter(source));
+            }
+            try (Writer out = new OutputStreamWriter(new FileOutputStream(target),
+                    StandardCharsets.UTF_8)) {
+                compressor.compress(out, -1, true, false, false, false);
+            }
+            return true;
+        } catch (final EvaluatorException e) {
+            this.logger.error("Failed to compress " + source, e);
+            return false;
+        }
+    }
+
+    private void copyResources(final JSONObject config, final File homeDir, final File deployDir)
+            throws IOException, JSONException {
+        final JSONArray resources = config.optJSONArray("resources");
+        if (resources != null) {
+            for (int i = 0; i < resources.length(); i++) {
+                final JSONObject resourceCfg = resources.getJSONObject(i);
+                FileHelper.copyDirectory(new File(homeDir, resourceCfg.getString("src")),
+                        new File(deployDir, resourceCfg.getString("dest")),
+                        resourceCfg.getString("filters"));
+            }
+        }
+    }
+
+    private void writeManifest(final List<List<Bundle>> levels, final File deployDir)
+            throws IOException, JSONException {
+        final Map<String, String> manifest = new TreeMap<>();
+        for (final List<Bundle> bundles : levels) {
+            for (final Bundle bundle : bundles) {
+                if (bundle.getFingerprintedFile().exists()) {
+                    manifest.put(bundle.name, bundle.getFingerprintedName());
+                }
+            }
+        }
+        final byte[] content = new JSONObject(manifest).toString(4)
+                .getBytes(StandardCharsets.UTF_8);
+        final File manifestFile = new File(deployDir, this.manifestFileName);
+        if (!manifestFile.exists()
+                || !Arrays.equals(content, Files.readAllBytes(manifestFile.toPath()))) {
+            Files.write(manifestFile.toPath(), content);
+        }
+        this.manifest = Collections.unmodifiableMap(new HashMap<>(manifest));
+    }
+
+    /**
+     * 资源包
+     */
+    private static class Bundle {
+        /**
+         * 输出文件名，相对于输出目录
+         */
+        private final String name;
+        private final File deployDir;
+        private final List<Bundle> deps = new ArrayList<>();
+        private final List<File> inputs = new ArrayList<>();
+        /**
+         * 依赖层级，不依赖其它资源包的为0，尚未计算时为-1
+         */
+        private int level = -1;
+        private String hash;
+
+        public Bundle(final String name, final File deployDir) {
+            this.name = name;
+            this.deployDir = deployDir;
+        }
+
+        public boolean isScript() {
+            return this.name.endsWith(JS_EXTENSION);
+        }
+
+        public File getOutputFile() {
+            return new File(this.deployDir, this.name);
+        }
+
+        /**
+         * 脚本资源包的未压缩文件，其它资源包即为输出文件
+         */
+        public File getDebugFile() {
+            return isScript() ? new File(this.deployDir, insertSuffix(this.name, DEBUG_SUFFIX))
+                    : getOutputFile();
+        }
+
+        public String getFingerprintedName() {
+            return insertSuffix(this.name, "-" + this.hash.substring(0, FINGERPRINT_LENGTH));
+        }
+
+        public File getFingerprintedFile() {
+            return new File(this.deployDir, getFingerprintedName());
+        }
+    }
+
+    /**
+     * 压缩错误报告器
+     */
+    private class CompressorErrorReporter implements ErrorReporter {
+
+        private final File source;
+
+        public CompressorErrorReporter(final File source) {
+            this.source = source;
+        }
+
+        @Override
+        public void warning(final String message, final String sourceName, final int line,
+                final String lineSource, final int lineOffset) {
+            WebResourceConsolidator.this.logger.warn("{}:{}:{}: {}", this.source.getName(), line,
+                    lineOffset, message);
+        }
+
+        @Override
+        public void error(final String message, final String sourceName, final int line,
+                final String lineSource, final int lineOffset) {
+            WebResourceConsolidator.this.logger.error("{}:{}:{}: {}", this.source.getName(), line,
+                    lineOffset, message);
+        }
+
+        @Override
+        public EvaluatorException runtimeError(final String message, final String sourceName,
+                final int line, final String lineSource, final int lineOffset) {
+            error(message, sourceName, line, lineSource, lineOffset);
+            return new EvaluatorException(message);
         }
     }
 }
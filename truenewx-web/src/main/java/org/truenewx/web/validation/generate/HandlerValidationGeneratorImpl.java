@@ -1,6 +1,11 @@
 package org.truenewx.web.validation.generate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -12,13 +17,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.ModelAndView;
 import org.truenewx.core.Strings;
+import org.truenewx.core.util.ConcurrentCache;
+import org.truenewx.core.util.JsonUtil;
 import org.truenewx.data.model.Model;
 import org.truenewx.data.validation.config.ValidationConfiguration;
 import org.truenewx.data.validation.config.ValidationConfigurationFactory;
 import org.truenewx.data.validation.rule.ValidationRule;
 
 /**
- * 处理器校验生成器实现
+ * 处理器校验生成器实现<br>
+ * 生成结果仅取决于模型类集和区域，故按模型类集和区域缓存，模型类的校验设置被重新构建后缓存自动失效
  *
  * @author jianglei
  * @since JDK 1.8
@@ -33,9 +41,21 @@ public class HandlerValidationGeneratorImpl implements HandlerValidationGenerato
      * 类名关键字
      */
     private static final String CLASS_NAME = "@type";
+    /**
+     * 已渲染为JSON的校验属性名称
+     */
+    private static final String VALIDATION_JSON_ATTRIBUTE_NAME = "validationJson";
 
     private ValidationGenerator validationGenerator;
     private ValidationConfigurationFactory validationConfigurationFactory;
+    /**
+     * 是否同时输出已渲染为JSON的校验属性
+     */
+    private boolean jsonRendered;
+    /**
+     * 模型类集+区域-校验结果的映射集，区域来自请求，故限制缓存数量
+     */
+    private ConcurrentCache<List<Object>, Payload> payloads = new ConcurrentCache<>(256);
 
     @Autowired(required = false)
     public void setValidationGenerator(final ValidationGenerator validationGenerator) {
@@ -48,63 +68,132 @@ public class HandlerValidationGeneratorImpl implements HandlerValidationGenerato
         this.validationConfigurationFactory = validationConfigurationFactory;
     }
 
+    /**
+     * @param jsonRendered
+     *            是否同时以{@value #VALIDATION_JSON_ATTRIBUTE_NAME}为名称输出已渲染为JSON的校验属性，默认为false
+     */
+    public void setJsonRendered(final boolean jsonRendered) {
+        this.jsonRendered = jsonRendered;
+    }
+
     @Override
     public void generate(final HttpServletRequest request,
                     final Class<? extends Model>[] modelClasses, final ModelAndView mav) {
         if (this.validationGenerator != null && this.validationConfigurationFactory != null
                         && modelClasses.length > 0 && mav != null) {
-            final Map<String, Map<String, String>> validations = new HashMap<String, Map<String, String>>();
-            for (final Class<? extends Model> modelClass : modelClasses) {
-                final ValidationConfiguration configuration = this.validationConfigurationFactory
-                                .getConfiguration(modelClass);
-                if (configuration != null) {
-                    final Set<String> propertyNames = configuration.getPropertyNames();
-                    if (propertyNames.size() > 0) {
-                        final Map<String, String> propertyExpressionMap = new HashMap<String, String>();
-                        propertyExpressionMap.put(CLASS_NAME, modelClass.getName());
-                        for (final String propertyName : propertyNames) {
-                            final Set<ValidationRule> rules = configuration.getRules(propertyName);
-                            final String expression = this.validationGenerator
-                                            .generateExpression(rules, request.getLocale());
-                            if (expression != null) {
-                                propertyExpressionMap.put(propertyName, expression);
-                            }
+            final Locale locale = request.getLocale();
+            final ValidationConfiguration[] configurations = new ValidationConfiguration[modelClasses.length];
+            for (int i = 0; i < modelClasses.length; i++) {
+                configurations[i] = this.validationConfigurationFactory
+                                .getConfiguration(modelClasses[i]);
+            }
+            final List<Object> key = new ArrayList<>(modelClasses.length + 1);
+            key.addAll(Arrays.asList(modelClasses));
+            key.add(locale);
+            Payload payload = this.payloads.get(key);
+            if (payload == null || !payload.isGeneratedFrom(configurations)) {
+                final Map<String, String> validation = generate(modelClasses, configurations,
+                                locale);
+                payload = new Payload(configurations, validation);
+                this.payloads.put(key, payload);
+            }
+            mav.addObject(VALIDATION_ATTRIBUTE_NAME, payload.validation);
+            if (this.jsonRendered) {
+                mav.addObject(VALIDATION_JSON_ATTRIBUTE_NAME, payload.getJson());
+            }
+        }
+    }
+
+    private Map<String, String> generate(final Class<? extends Model>[] modelClasses,
+                    final ValidationConfiguration[] configurations, final Locale locale) {
+        final Map<String, Map<String, String>> validations = new HashMap<String, Map<String, String>>();
+        for (int i = 0; i < modelClasses.length; i++) {
+            final Class<? extends Model> modelClass = modelClasses[i];
+            final ValidationConfiguration configuration = configurations[i];
+            if (configuration != null) {
+                final Set<String> propertyNames = configuration.getPropertyNames();
+                if (propertyNames.size() > 0) {
+                    final Map<String, String> propertyExpressionMap = new HashMap<String, String>();
+                    propertyExpressionMap.put(CLASS_NAME, modelClass.getName());
+                    for (final String propertyName : propertyNames) {
+                        final Set<ValidationRule> rules = configuration.getRules(propertyName);
+                        final String expression = this.validationGenerator
+                                        .generateExpression(rules, locale);
+                        if (expression != null) {
+                            propertyExpressionMap.put(propertyName, expression);
                         }
-                        if (propertyExpressionMap.size() > 0) {
-                            final String className = modelClass.getSimpleName();
-                            final Map<String, String> oldMap = validations.put(className,
+                    }
+                    if (propertyExpressionMap.size() > 0) {
+                        final String className = modelClass.getSimpleName();
+                        final Map<String, String> oldMap = validations.put(className,
+                                        propertyExpressionMap);
+                        if (oldMap != null) {
+                            // 如果存在重复的类简名，则移除以类简名为关键字的表达式，使用类全名关键字
+                            validations.remove(className);
+                            validations.put(oldMap.get(CLASS_NAME), oldMap);
+                            validations.put(propertyExpressionMap.get(CLASS_NAME),
                                             propertyExpressionMap);
-                            if (oldMap != null) {
-                                // 如果存在重复的类简名，则移除以类简名为关键字的表达式，使用类全名关键字
-                                validations.remove(className);
-                                validations.put(oldMap.get(CLASS_NAME), oldMap);
-                                validations.put(propertyExpressionMap.get(CLASS_NAME),
-                                                propertyExpressionMap);
-                            }
                         }
                     }
                 }
             }
-            final Map<String, String> validation = new HashMap<>();
-            if (validations.size() > 0) {
-                // 添加第一个模型类的校验属性映射
-                validation.putAll(validations.values().iterator().next());
-
-                if (validations.size() > 1) { // 多个模型类时，添加模型类的属性名加上类名前缀的校验属性映射
-                    for (final Entry<String, Map<String, String>> entry : validations.entrySet()) {
-                        final String className = entry.getKey();
-                        for (final Entry<String, String> e : entry.getValue().entrySet()) {
-                            String propertyName = e.getKey();
-                            if (!CLASS_NAME.equals(propertyName)) {
-                                propertyName = StringUtils.join(className, Strings.DOT,
-                                                propertyName); // 属性名加上类名前缀
-                                validation.put(propertyName, e.getValue());
-                            }
+        }
+        final Map<String, String> validation = new HashMap<>();
+        if (validations.size() > 0) {
+            // 添加第一个模型类的校验属性映射
+            validation.putAll(validations.values().iterator().next());
+
+            if (validations.size() > 1) { // 多个模型类时，添加模型类的属性名加上类名前缀的校验属性映射
+                for (final Entry<String, Map<String, String>> entry : validations.entrySet()) {
+                    final String className = entry.getKey();
+                    for (final Entry<String, String> e : entry.getValue().entrySet()) {
+                        String propertyName = e.getKey();
+                        if (!CLASS_NAME.equals(propertyName)) {
+                            propertyName = StringUtils.join(className, Strings.DOT,
+                                            propertyName); // 属性名加上类名前缀
+                            validation.put(propertyName, e.getValue());
                         }
                     }
                 }
             }
-            mav.addObject(VALIDATION_ATTRIBUTE_NAME, validation);
+        }
+        return Collections.unmodifiableMap(validation);
+    }
+
+    /**
+     * 缓存的校验结果
+     */
+    private static class Payload {
+        /**
+         * 生成校验结果时所依据的校验设置集
+         */
+        private final ValidationConfiguration[] configurations;
+        private final Map<String, String> validation;
+        private volatile String json;
+
+        public Payload(final ValidationConfiguration[] configurations,
+                        final Map<String, String> validation) {
+            this.configurations = configurations;
+            this.validation = validation;
+        }
+
+        /**
+         * 判断当前校验结果是否依据指定校验设置集生成，校验设置被重新构建后将是不同的实例
+         */
+        public boolean isGeneratedFrom(final ValidationConfiguration[] configurations) {
+            for (int i = 0; i < configurations.length; i++) {
+                if (this.configurations[i] != configurations[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String getJson() {
+            if (this.json == null) { // 首次使用时渲染，并发时重复渲染的结果相同
+                this.json = JsonUtil.toJson(this.validation, true);
+            }
+            return this.json;
         }
     }
 
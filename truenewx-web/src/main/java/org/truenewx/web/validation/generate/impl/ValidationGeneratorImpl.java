@@ -38,7 +38,7 @@ public class ValidationGeneratorImpl implements ValidationGenerator, ContextInit
                 }
             }
         }
-        return JsonUtil.toJson(map).replace('"', '\'');
+        return JsonUtil.toJson(map, true);
     }
 
     @Override
@@ -4,6 +4,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.truenewx.core.Strings;
+import org.truenewx.core.version.FingerprintReader;
 import org.truenewx.core.version.VersionReader;
 import org.truenewx.web.rpc.server.annotation.RpcController;
 import org.truenewx.web.rpc.server.annotation.RpcMethod;
@@ -20,6 +21,8 @@ public class VersionController {
 
     @Autowired(required = false)
     private VersionReader versionReader;
+    @Autowired(required = false)
+    private FingerprintReader fingerprintReader;
 
     @RequestMapping("/build")
     @ResponseBody
@@ -55,4 +58,12 @@ public class VersionController {
         return null;
     }
 
+    @RpcMethod(logined = false)
+    public String getFingerprint(final String path) {
+        if (this.fingerprintReader != null) {
+            return this.fingerprintReader.getFingerprint(path);
+        }
+        return null;
+    }
+
 }
@@ -4,11 +4,13 @@ import java.io.IOException;
 
 import javax.servlet.jsp.JspException;
 
+import org.truenewx.core.version.FingerprintReader;
 import org.truenewx.core.version.VersionReader;
 import org.truenewx.web.tagext.DynamicAttributeTagSupport;
 
 /**
- * 版本号标签
+ * 版本号标签<br/>
+ * 指定资源路径时输出附加了版本参数的资源路径，版本参数优先取资源内容的指纹，以便内容变化时浏览器缓存即失效
  *
  * @author jianglei
  * @since JDK 1.8
@@ -21,6 +23,7 @@ public class VersionTag extends DynamicAttributeTagSupport {
 
     private String build;
     private String prefix;
+    private String path;
 
     public void setBuild(final String build) {
         this.build = build;
@@ -30,8 +33,16 @@ public class VersionTag extends DynamicAttributeTagSupport {
         this.prefix = prefix;
     }
 
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
     @Override
     public void doTag() throws JspException, IOException {
+        if (this.path != null) {
+            printPath();
+            return;
+        }
         final VersionReader versionReader = getBeanFromApplicationContext(VersionReader.class);
         if (versionReader != null) {
             String version;
@@ -49,4 +60,28 @@ public class VersionTag extends DynamicAttributeTagSupport {
         }
     }
 
+    private void printPath() throws IOException {
+        String version = null;
+        final FingerprintReader fingerprintReader = getBeanFromApplicationContext(
+                FingerprintReader.class);
+        if (fingerprintReader != null) {
+            version = fingerprintReader.getFingerprint(this.path);
+        }
+        if (version == null) { // 没有资源指纹时以版本号代替
+            final VersionReader versionReader = getBeanFromApplicationContext(VersionReader.class);
+            if (versionReader != null) {
+                version = versionReader.getVersion(true);
+            }
+        }
+        final StringBuilder url = new StringBuilder();
+        if (this.prefix != null) {
+            url.append(this.prefix);
+        }
+        url.append(this.path);
+        if (version != null) {
+            url.append(this.path.indexOf('?') < 0 ? '?' : '&').append("v=").append(version);
+        }
+        print(url.toString());
+    }
+
 }